@@ -0,0 +1,257 @@
+package Eight_Puzzle;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.concurrent.*;
+
+public class BatchSolver {
+
+    private final int parallelism;
+    private final String heuristicName;
+    private final PatternDatabase pdb;      // shared read-only tables, may be null
+    private final Semaphore permits;
+
+    public BatchSolver(int parallelism, String heuristicName, PatternDatabase pdb) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        if (pdb == null) {
+            Heuristic.create(heuristicName, SlidingPuzzle.EIGHT, SlidingPuzzle.EIGHT.goal()); // fail fast on a bad name
+        }
+        this.parallelism = parallelism;
+        this.heuristicName = heuristicName;
+        this.pdb = pdb;
+        permits = new Semaphore(parallelism);
+    }
+
+    /*
+     * One request per line: "start goal", "start / goal", or just "start" (solve to the
+     * canonical goal). Boards are either compact ("867254301") or tile lists separated by
+     * spaces or commas. Blank lines and lines starting with '#' are skipped.
+     */
+    static int[][] parseLine(String line) {
+        String startText, goalText = null;
+        int slash = line.indexOf('/');
+        if (slash >= 0) {
+            startText = line.substring(0, slash);
+            goalText = line.substring(slash + 1);
+        } else {
+            String[] tokens = line.trim().split("\\s+");
+            if (tokens.length == 2) {
+                startText = tokens[0];
+                goalText = tokens[1];
+            } else {
+                startText = line;
+            }
+        }
+        int[] start = SlidingPuzzle.parse(startText.trim());
+        int[] goal = goalText == null
+                ? SlidingPuzzle.forCells(start.length).goal()
+                : SlidingPuzzle.parse(goalText.trim());
+        if (goal.length != start.length) {
+            throw new IllegalArgumentException("Start and goal have different sizes");
+        }
+        return new int[][] { start, goal };
+    }
+
+    // Runs on a virtual thread; the semaphore keeps at most 'parallelism' searches on the CPU.
+    private String solveLine(String line) throws InterruptedException {
+        permits.acquire();
+        try {
+            long t0 = System.nanoTime();
+            try {
+                int[][] pair = parseLine(line);
+                int[] start = pair[0], goal = pair[1];
+                Solution solution = pdb != null
+                        ? IDAStar.solve(start, goal, pdb)
+                        : IDAStar.solve(start, goal, Heuristic.create(heuristicName, SlidingPuzzle.forCells(start.length), goal));
+                double ms = (System.nanoTime() - t0) / 1e6;
+                if (solution == null) {
+                    return "unsolvable\t-1\t0\t" + String.format("%.3f", ms);
+                }
+                return solution.moveString() + "\t" + solution.cost() + "\t" + solution.nodesExpanded()
+                        + "\t" + String.format("%.3f", ms);
+            } catch (IllegalArgumentException e) {
+                return "error\t" + e.getMessage();
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /*
+     * Reads requests until EOF and writes one result line per request, in input order:
+     * moves, cost, nodes expanded and milliseconds, tab-separated. The reader runs ahead of
+     * the writer by at most a few lines per permit, so memory stays bounded on endless input.
+     */
+    public long run(BufferedReader in, Writer out) throws IOException, InterruptedException {
+        BlockingQueue<Future<String>> pending = new ArrayBlockingQueue<>(parallelism * 4);
+        long count = 0;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<IOException> writer = executor.submit(() -> {
+                IOException failure = null;
+                // keep draining after a write error so the reader never blocks on a full queue
+                while (true) {
+                    Future<String> next = pending.take();
+                    if (next == END) break;
+                    String result;
+                    try {
+                        result = next.get();
+                    } catch (ExecutionException e) {
+                        // A search that blew up (stack, heap, a bug) still answers its line.
+                        result = "error\t" + e.getCause();
+                    }
+                    if (failure != null) continue;
+                    try {
+                        out.write(result);
+                        out.write('\n');
+                        // flush whenever we are about to wait, so results stream out
+                        if (pending.isEmpty()) out.flush();
+                    } catch (IOException e) {
+                        failure = e;
+                    }
+                }
+                try {
+                    out.flush();
+                } catch (IOException e) {
+                    if (failure == null) failure = e;
+                }
+                return failure;
+            });
+
+            boolean readAll = false;
+            try {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    String request = line.trim();
+                    if (request.isEmpty() || request.startsWith("#")) continue;
+                    Future<String> result = executor.submit(() -> solveLine(request));
+                    if (!enqueue(pending, result, writer)) {
+                        result.cancel(true);
+                        break;
+                    }
+                    count++;
+                }
+                readAll = true;
+            } finally {
+                if (!readAll) {
+                    // The read failed (a malformed byte, a closed stream) and END will never come:
+                    // stop the writer and the queued searches so closing the executor cannot hang.
+                    writer.cancel(true);
+                    for (Future<String> queued : pending) queued.cancel(true);
+                }
+            }
+            if (!enqueue(pending, END, writer)) {
+                for (Future<String> queued : pending) queued.cancel(true);
+            }
+
+            IOException failure = writer.get();
+            if (failure != null) throw failure;
+        } catch (ExecutionException e) {
+            throw new IOException("Batch writer failed", e.getCause());
+        }
+        return count;
+    }
+
+    // Waits for room in the queue, giving up (false) if the writer has stopped taking from it.
+    private static boolean enqueue(BlockingQueue<Future<String>> pending, Future<String> result, Future<?> writer)
+            throws InterruptedException {
+        while (!pending.offer(result, 100, TimeUnit.MILLISECONDS)) {
+            if (writer.isDone()) return false;
+        }
+        return true;
+    }
+
+    private static final Future<String> END = CompletableFuture.completedFuture(null);
+
+    public static void main(String[] args) throws Exception {
+        // usage: BatchSolver [--threads n] [--heuristic name] [--pdb file "group|group|..."] [file | -]
+        int threads = Runtime.getRuntime().availableProcessors();
+        String heuristicName = "manhattan", pdbFile = null, pdbGroups = null, input = "-";
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threads":
+                    threads = Integer.parseInt(args[++i]);
+                    break;
+                case "--heuristic":
+                    heuristicName = args[++i];
+                    break;
+                case "--pdb":
+                    pdbFile = args[++i];
+                    pdbGroups = args[++i];
+                    break;
+                default:
+                    input = args[i];
+            }
+        }
+
+        BufferedReader in = input.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Paths.get(input), StandardCharsets.UTF_8);
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16);
+
+        PatternDatabase pdb = null;
+        if (pdbFile != null) {
+            // All requests in a pdb run must share its board size and goal; the first line decides.
+            in.mark(1 << 16);
+            String first = in.readLine();
+            while (first != null && (first.trim().isEmpty() || first.trim().startsWith("#"))) {
+                first = in.readLine();
+            }
+            in.reset();
+            if (first != null) {
+                int[][] pair = parseLine(first.trim());
+                pdb = PatternDatabase.loadOrBuild(Paths.get(pdbFile), SlidingPuzzle.forCells(pair[0].length),
+                        pair[1], PatternDatabase.parseGroups(pdbGroups));
+            }
+        }
+
+        long t0 = System.nanoTime();
+        long solved;
+        try (in) {
+            solved = new BatchSolver(threads, heuristicName, pdb).run(in, out);
+        }
+        System.err.printf("%d puzzles in %d ms on %d threads%n", solved, (System.nanoTime() - t0) / 1_000_000, threads);
+    }
+}
+
+
+/*
+
+# Short problem statement
+
+Solving one puzzle per JVM means paying JVM startup and JIT warm-up for every board, which costs far more than the search itself for anything up to the 15-puzzle. `BatchSolver` keeps one JVM alive and streams many start/goal pairs through it.
+
+---
+
+# How it works
+
+* **Input**: one request per line from a file or stdin (`-`): `start goal`, `start / goal`, or just `start` for the canonical goal. Boards use the same forms as `SlidingPuzzle.parse`.
+* **Virtual threads**: every request gets its own virtual thread from `Executors.newVirtualThreadPerTaskExecutor()`. The search is CPU-bound, so a `Semaphore` with `--threads` permits (default: number of cores) decides how many actually run at once; the rest wait cheaply.
+* **Input order**: futures go into a bounded `ArrayBlockingQueue` in the order they were read. A writer thread takes them from the head and waits for each in turn, so output order matches input order even though puzzles finish out of order. The bound also stops the reader from racing ahead of the solvers on huge inputs.
+* **Output**: one tab-separated line per request through a `BufferedWriter`:
+
+  ```
+  <moves>    <cost>    <nodes expanded>    <milliseconds>
+  ```
+
+  `unsolvable` (cost `-1`) for boards with the wrong parity and `error <message>` for malformed lines, so output line `i` always answers request `i`. Blank lines and `#` comments are not requests and get no output line. A search that fails in any other way (a bug, `StackOverflowError`, `OutOfMemoryError`) also answers its line with `error` and the exception, rather than stopping the writer.
+* **Failures**: the reader waits for queue space in short timed `offer`s and checks the writer in between. If the writer ever stops early, the reader stops reading, cancels the queued searches, and `run` throws the writer's failure instead of hanging on a full queue. If reading the input fails (for example `MalformedInputException` on a byte that is not UTF-8), the writer and the queued searches are cancelled and `run` throws the read error.
+
+* **Java 21**: `newVirtualThreadPerTaskExecutor` (and the executor's `close()` in try-with-resources) need Java 21 or newer. `BatchSolver` is the first class in the repository that does.
+
+* **Heuristics**: `--heuristic` picks any `Heuristic` by name; `--pdb file groups` shares one memory-mapped pattern database across all threads (each search gets its own `newHeuristic()` view).
+
+---
+
+# Example
+
+```
+$ printf '867254301\n6 14 3 4 8 0 15 1 10 5 7 11 2 9 12 13\n' | java Eight_Puzzle.BatchSolver --heuristic walking-distance
+UULDDRRUULDLDRRUULDLDRRUULLDDRR    31    3515    11.933
+...
+```
+
+*/
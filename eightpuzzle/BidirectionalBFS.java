@@ -0,0 +1,159 @@
+package Eight_Puzzle;
+
+import java.util.*;
+
+public class BidirectionalBFS {
+
+    private static final byte FORWARD = 1;
+    private static final byte BACKWARD = 2;
+    private static final byte ROOT = 10;
+
+    // Shared by both searches, indexed by PermutationRank.rank(board):
+    private final byte[] side = new byte[PermutationRank.STATES];     // 0 = unseen, FORWARD or BACKWARD
+    private final byte[] depth = new byte[PermutationRank.STATES];    // distance from that side's root
+    private final byte[] cameFrom = new byte[PermutationRank.STATES]; // blank position in the parent (+1), or ROOT
+    private int touched;
+
+    private long meetFrom;  // board on the side that was being expanded
+    private long meetTo;    // neighbour that the other side had already reached
+    private int bestLength = Integer.MAX_VALUE;
+
+    private long[] mark(long[] frontier, int size, long state, byte who, int d, int from) {
+        int r = PermutationRank.rank(state);
+        side[r] = who;
+        depth[r] = (byte) d;
+        cameFrom[r] = (byte) from;
+        touched++;
+        if (size == frontier.length) {
+            frontier = Arrays.copyOf(frontier, size << 1);
+        }
+        frontier[size] = state;
+        return frontier;
+    }
+
+    public List<String> search(String start, String goal) {
+        long startState = PackedBoard.pack(start);
+        long goalState = PackedBoard.pack(goal);
+
+        long[] forward = mark(new long[16], 0, startState, FORWARD, 0, ROOT);
+        int forwardSize = 1;
+        if (startState == goalState) {
+            return Collections.singletonList(start);
+        }
+        long[] backward = mark(new long[16], 0, goalState, BACKWARD, 0, ROOT);
+        int backwardSize = 1;
+
+        while (forwardSize > 0 && backwardSize > 0) {
+            // Always grow the smaller frontier by one full layer.
+            boolean fromStart = forwardSize <= backwardSize;
+            long[] frontier = fromStart ? forward : backward;
+            int size = fromStart ? forwardSize : backwardSize;
+            byte who = fromStart ? FORWARD : BACKWARD;
+
+            long[] next = new long[Math.max(16, size * 2)];
+            int nextSize = 0;
+            for (int i = 0; i < size; i++) {
+                long current = frontier[i];
+                int d = depth[PermutationRank.rank(current)];
+                int zeroIndex = PackedBoard.blank(current);
+                for (int nextPos : PackedBoard.MOVES[zeroIndex]) {
+                    long s = PackedBoard.slide(current, nextPos);
+                    int r = PermutationRank.rank(s);
+                    if (side[r] == 0) {
+                        next = mark(next, nextSize++, s, who, d + 1, zeroIndex + 1);
+                    } else if (side[r] != who && d + 1 + depth[r] < bestLength) {
+                        bestLength = d + 1 + depth[r];
+                        meetFrom = current;
+                        meetTo = s;
+                    }
+                }
+            }
+            // Every board in the layer has the same depth, so the best meeting in it is optimal.
+            if (bestLength != Integer.MAX_VALUE) {
+                return fromStart ? stitch(meetFrom, meetTo) : stitch(meetTo, meetFrom);
+            }
+
+            if (fromStart) {
+                forward = next;
+                forwardSize = nextSize;
+            } else {
+                backward = next;
+                backwardSize = nextSize;
+            }
+        }
+        return null;
+    }
+
+    // forwardEnd was reached from the start, backwardEnd from the goal, and they are neighbours.
+    private List<String> stitch(long forwardEnd, long backwardEnd) {
+        List<String> path = new ArrayList<>();
+        for (long s = forwardEnd; ; ) {
+            path.add(PackedBoard.unpack(s));
+            int from = cameFrom[PermutationRank.rank(s)];
+            if (from == ROOT) break;
+            s = PackedBoard.slide(s, from - 1);
+        }
+        Collections.reverse(path);
+        for (long s = backwardEnd; ; ) {
+            path.add(PackedBoard.unpack(s));
+            int from = cameFrom[PermutationRank.rank(s)];
+            if (from == ROOT) break;
+            s = PackedBoard.slide(s, from - 1);
+        }
+        return path;
+    }
+
+    public int statesTouched() {
+        return touched;
+    }
+
+    public static void bidirectionalBfs(String start, String goal) {
+        BidirectionalBFS search = new BidirectionalBFS();
+        List<String> path = search.search(start, goal);
+        if (path == null) {
+            SolutionWriter.STDOUT.info("No solution found!");
+            return;
+        }
+        long[] boards = new long[path.size()];
+        for (int i = 0; i < boards.length; i++) {
+            boards[i] = PackedBoard.pack(path.get(i));
+        }
+        SolutionWriter.STDOUT.write("Steps to solve (Bidirectional BFS)", boards);
+        SolutionWriter.STDOUT.info("Total steps (cost): " + (path.size() - 1)
+                + ", states touched: " + search.statesTouched());
+    }
+
+    public static void main(String[] args) {
+        String start = args.length > 0 ? args[0] : "867254301"; // 31 moves
+        String goal = args.length > 1 ? args[1] : "123456780";
+        bidirectionalBfs(start, goal);
+    }
+}
+
+
+/*
+
+# Short problem statement
+
+Plain BFS from the start visits every board up to the solution depth `d`, roughly `b^d` of them. Searching from both ends at once and stopping when the two searches meet visits about `2 · b^(d/2)` — for deep 8-puzzle instances that is the difference between most of the state space and a small fraction of it.
+
+---
+
+# How it works
+
+* One **shared** set of arrays indexed by `PermutationRank.rank(board)`:
+  * `side[r]`: unseen, reached from the start (`FORWARD`), or reached from the goal (`BACKWARD`);
+  * `depth[r]`: distance from that side's root;
+  * `cameFrom[r]`: where the blank was in the parent board (or `ROOT`).
+* Each round expands **one full layer of the smaller frontier**. This keeps both searches about the same size even when one side branches more (e.g. the blank starts in a corner vs. the centre).
+* While expanding, a neighbour already marked by the **other** side is a meeting point. All boards in a layer have the same depth, so after finishing the layer the meeting with the smallest `depth` on the other side gives an optimal path.
+* **Path reconstruction**: follow `cameFrom` from the forward meeting board back to the start (then reverse), and from the backward meeting board forward to the goal, and concatenate.
+
+---
+
+# Complexity
+
+* Time and touched states: `O(b^(d/2))` per side instead of `O(b^d)`.
+* Memory: three `byte[362880]` arrays (about 1 MB) plus the two frontiers.
+
+*/
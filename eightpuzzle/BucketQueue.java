@@ -0,0 +1,138 @@
+package Eight_Puzzle;
+
+import java.util.*;
+
+public final class BucketQueue {
+
+    // All items with one f, in LIFO stacks indexed by h = f - g (smallest h = largest g first).
+    private static final class Bucket {
+        int[][] stacks = new int[8][];
+        int[] sizes = new int[8];
+        int count;
+        int minH = Integer.MAX_VALUE;
+    }
+
+    // Ring of buckets covering f in [base, base + ring.length); grows if f spreads wider.
+    private Bucket[] ring = new Bucket[4];
+    private int base;
+    private int maxF;
+    private int size;
+
+    private int poppedF;
+    private int poppedG;
+
+    public BucketQueue() {
+        for (int i = 0; i < ring.length; i++) ring[i] = new Bucket();
+    }
+
+    public void push(int item, int f, int g) {
+        int h = f - g;
+        if (g < 0 || h < 0) {
+            throw new IllegalArgumentException("Need 0 <= g <= f, got f=" + f + " g=" + g);
+        }
+        if (size == 0) {
+            base = f;
+            maxF = f;
+        } else if (f < base || f > maxF) {
+            // An inconsistent heuristic can push below the current minimum; that is allowed.
+            int low = Math.min(base, f), high = Math.max(maxF, f);
+            if (high - low >= ring.length) grow(high - low + 1);
+            base = low;
+            maxF = high;
+        }
+
+        Bucket bucket = ring[Math.floorMod(f, ring.length)];
+        if (h >= bucket.stacks.length) {
+            int length = Math.max(h + 1, bucket.stacks.length << 1);
+            bucket.stacks = Arrays.copyOf(bucket.stacks, length);
+            bucket.sizes = Arrays.copyOf(bucket.sizes, length);
+        }
+        int[] stack = bucket.stacks[h];
+        int n = bucket.sizes[h];
+        if (stack == null) {
+            stack = bucket.stacks[h] = new int[16];
+        } else if (n == stack.length) {
+            stack = bucket.stacks[h] = Arrays.copyOf(stack, n << 1);
+        }
+        stack[n] = item;
+        bucket.sizes[h] = n + 1;
+        bucket.count++;
+        if (h < bucket.minH) bucket.minH = h;
+        size++;
+    }
+
+    // Re-spreads the live buckets over a ring of at least 'span' slots, reusing the buckets.
+    private void grow(int span) {
+        int length = ring.length;
+        while (length < span) length <<= 1;
+        Bucket[] grown = new Bucket[length];
+        for (int f = base; f < base + ring.length; f++) {
+            grown[Math.floorMod(f, length)] = ring[Math.floorMod(f, ring.length)];
+        }
+        for (int i = 0; i < length; i++) {
+            if (grown[i] == null) grown[i] = new Bucket();
+        }
+        ring = grown;
+    }
+
+    // Call only when not empty; poppedF() and poppedG() then describe the item returned.
+    public int pop() {
+        Bucket bucket = ring[Math.floorMod(base, ring.length)];
+        while (bucket.count == 0) {
+            base++;
+            bucket = ring[Math.floorMod(base, ring.length)];
+        }
+        int h = bucket.minH;
+        while (bucket.sizes[h] == 0) h++;
+        int item = bucket.stacks[h][--bucket.sizes[h]];
+        bucket.minH = --bucket.count == 0 ? Integer.MAX_VALUE : h;
+        size--;
+
+        poppedF = base;
+        poppedG = base - h;
+        return item;
+    }
+
+    public int poppedF() {
+        return poppedF;
+    }
+
+    public int poppedG() {
+        return poppedG;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Empties the queue but keeps every stack for reuse.
+    public void clear() {
+        if (size > 0) {
+            for (Bucket bucket : ring) {
+                Arrays.fill(bucket.sizes, 0);
+                bucket.count = 0;
+                bucket.minH = Integer.MAX_VALUE;
+            }
+        }
+        size = 0;
+    }
+}
+
+
+/*
+
+# Short problem statement
+
+`AStarSearch` used a binary heap of packed `long` entries. Its `f` is a move count (at most a few dozen for the 8-puzzle), so a bucket queue indexed by `f` does the same job in constant time per operation.
+
+---
+
+# How it works
+
+The same two-level structure as `Maze.BucketQueue`: a small ring of buckets by `f`, each holding LIFO `int` stacks by `h = f - g`, popped at the smallest `f` and then the largest `g`. Items are board ranks from `PermutationRank`, so every 8-puzzle board fits in an `int`. The caller unranks a board when it pops it and reads its `g` from `poppedG()`, so nothing else has to be stored in the entry.
+
+*/
@@ -0,0 +1,133 @@
+package Eight_Puzzle;
+
+import java.util.*;
+
+public class DistanceTable {
+
+    private static final byte UNREACHABLE = -1;
+
+    private final long goalState;
+    private final byte[] distance = new byte[PermutationRank.STATES];
+    private final int reachable;
+
+    // Retrograde BFS: one pass from the goal labels every board with its exact distance.
+    public DistanceTable(String goal) {
+        goalState = PackedBoard.pack(goal);
+        Arrays.fill(distance, UNREACHABLE);
+
+        long[] queue = new long[PermutationRank.STATES / 2];
+        int head = 0, tail = 0;
+        queue[tail++] = goalState;
+        distance[PermutationRank.rank(goalState)] = 0;
+
+        while (head < tail) {
+            long current = queue[head++];
+            int next = distance[PermutationRank.rank(current)] + 1;
+            for (int nextPos : PackedBoard.MOVES[PackedBoard.blank(current)]) {
+                long s = PackedBoard.slide(current, nextPos);
+                int r = PermutationRank.rank(s);
+                if (distance[r] == UNREACHABLE) {
+                    distance[r] = (byte) next;
+                    queue[tail++] = s;
+                }
+            }
+        }
+        reachable = tail;
+    }
+
+    public int distance(String start) {
+        return distance[PermutationRank.rank(PackedBoard.pack(start))];
+    }
+
+    public int reachableStates() {
+        return reachable;
+    }
+
+    // Greedy descent: some neighbour is always exactly one step closer to the goal.
+    public List<String> solve(String start) {
+        long current = PackedBoard.pack(start);
+        int d = distance[PermutationRank.rank(current)];
+        if (d == UNREACHABLE) {
+            return null;
+        }
+
+        List<String> path = new ArrayList<>(d + 1);
+        path.add(start);
+        while (d > 0) {
+            for (int nextPos : PackedBoard.MOVES[PackedBoard.blank(current)]) {
+                long s = PackedBoard.slide(current, nextPos);
+                if (distance[PermutationRank.rank(s)] == d - 1) {
+                    current = s;
+                    break;
+                }
+            }
+            path.add(PackedBoard.unpack(current));
+            d--;
+        }
+        return path;
+    }
+
+    private static String randomBoard(Random rnd) {
+        char[] arr = "012345678".toCharArray();
+        for (int i = arr.length - 1; i > 0; i--) {
+            int j = rnd.nextInt(i + 1);
+            char temp = arr[i];
+            arr[i] = arr[j];
+            arr[j] = temp;
+        }
+        return new String(arr);
+    }
+
+    public static void main(String[] args) {
+        String goal = "123456780";
+        int boards = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        long t0 = System.nanoTime();
+        DistanceTable table = new DistanceTable(goal);
+        long t1 = System.nanoTime();
+        System.out.println("Table built: " + table.reachableStates() + " states in "
+                + (t1 - t0) / 1_000_000 + " ms");
+
+        List<String> path = table.solve("123405678");
+        System.out.println("123405678 -> " + goal + ": " + (path.size() - 1) + " moves " + path);
+
+        Random rnd = new Random(42);
+        long totalMoves = 0;
+        int unsolvable = 0;
+        t0 = System.nanoTime();
+        for (int i = 0; i < boards; i++) {
+            int d = table.distance(randomBoard(rnd));
+            if (d < 0) unsolvable++;
+            else totalMoves += d;
+        }
+        t1 = System.nanoTime();
+        System.out.println(boards + " random boards in " + (t1 - t0) / 1_000_000 + " ms ("
+                + unsolvable + " unsolvable, " + totalMoves + " total moves)");
+    }
+}
+
+
+/*
+
+# Short problem statement
+
+When the same goal is used for many boards, running a full search per board repeats almost all of the work. Because the 8-puzzle has only 362,880 boards, we can instead compute the distance of **every** board to the goal once and then answer each query by walking downhill.
+
+---
+
+# How it works
+
+1. **Retrograde BFS** from the goal. Moves are reversible, so the BFS depth of a board is its exact shortest distance to the goal. Distances fit in a byte (the 8-puzzle diameter is 31).
+2. The table is a `byte[362880]` indexed by `PermutationRank.rank(board)`; `-1` marks the other parity class (unsolvable boards).
+3. **Query**: look up `d = distance[rank(start)]`. Then repeatedly move to any neighbour whose distance is `d - 1`. One always exists, so this never backtracks.
+
+---
+
+# Complexity
+
+* Build: `O(9!/2)` expansions, once (tens of milliseconds).
+* `distance(start)`: `O(1)`.
+* `solve(start)`: `O(d)` steps, each checking at most 4 neighbours.
+* Memory: 362 KB for the table plus a temporary 1.4 MB BFS queue.
+
+*/
@@ -0,0 +1,456 @@
+package Eight_Puzzle;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+public class ExternalBFS {
+
+    private final int rows;
+    private final int cols;
+    private final int cells;
+    private final int[][] moves;      // moves[blank] = cells the blank can move to
+    private final long goal;
+    private final String pattern;     // tiles kept distinct, or "" for all of them
+    private final Path dir;
+    private final int chunk;          // successors sorted in memory before spilling a run
+
+    private final List<Long> counts = new ArrayList<>();
+
+    public ExternalBFS(int rows, int cols, int[] patternTiles, Path dir, int chunk) {
+        if (rows < 1 || cols < 1 || rows * cols < 2 || rows * cols > 16) {
+            throw new IllegalArgumentException("Boards must have between 2 and 16 cells, got " + rows + "x" + cols);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        cells = rows * cols;
+        this.dir = dir;
+        this.chunk = chunk;
+
+        moves = new int[cells][];
+        for (int pos = 0; pos < cells; pos++) {
+            int r = pos / cols, c = pos % cols;
+            int[] m = new int[4];
+            int n = 0;
+            if (r > 0) m[n++] = pos - cols;
+            if (c > 0) m[n++] = pos - 1;
+            if (c < cols - 1) m[n++] = pos + 1;
+            if (r < rows - 1) m[n++] = pos + cols;
+            moves[pos] = Arrays.copyOf(m, n);
+        }
+
+        // Goal: 1..cells-1 then the blank. Tiles outside the pattern all share one label, so
+        // boards that differ only in where those tiles sit collapse into one abstract state.
+        int[] label = new int[cells];
+        if (patternTiles == null) {
+            for (int tile = 1; tile < cells; tile++) label[tile] = tile;
+            pattern = "";
+        } else {
+            if (patternTiles.length > 14) {
+                throw new IllegalArgumentException("A pattern can keep at most 14 tiles distinct");
+            }
+            int other = patternTiles.length + 1;
+            Arrays.fill(label, other);
+            label[0] = 0;
+            for (int i = 0; i < patternTiles.length; i++) {
+                int tile = patternTiles[i];
+                if (tile < 1 || tile >= cells || label[tile] != other) {
+                    throw new IllegalArgumentException("Bad pattern tile " + tile);
+                }
+                label[tile] = i + 1;
+            }
+            StringBuilder sb = new StringBuilder();
+            for (int tile : patternTiles) sb.append(sb.length() == 0 ? "" : ",").append(tile);
+            pattern = sb.toString();
+        }
+        long g = 0;
+        for (int pos = 0; pos < cells - 1; pos++) {
+            g |= (long) label[pos + 1] << (4 * pos);
+        }
+        goal = g; // the blank (label 0) is in the last cell
+    }
+
+    private int blank(long state) {
+        for (int pos = 0; ; pos++) {
+            if ((state >>> (4 * pos) & 0xF) == 0) return pos;
+        }
+    }
+
+    // Sorting order is unsigned; flipping the sign bit lets Arrays.sort do it on plain longs.
+    private static void sortUnsigned(long[] a, int n) {
+        for (int i = 0; i < n; i++) a[i] ^= Long.MIN_VALUE;
+        Arrays.sort(a, 0, n);
+        for (int i = 0; i < n; i++) a[i] ^= Long.MIN_VALUE;
+    }
+
+    private Path layer(int depth) {
+        return dir.resolve(String.format("layer-%04d.bin", depth));
+    }
+
+    /*
+     * Runs until a layer comes out empty. Returns the number of boards at each depth; the
+     * diameter is the size of that list minus one.
+     */
+    public List<Long> run() throws IOException {
+        Files.createDirectories(dir);
+        int depth = resume();
+        if (depth < 0) {
+            try (LayerWriter w = new LayerWriter(dir.resolve("layer.tmp"))) {
+                w.write(goal);
+            }
+            Files.move(dir.resolve("layer.tmp"), layer(0), StandardCopyOption.ATOMIC_MOVE);
+            counts.add(1L);
+            depth = 0;
+            saveProgress();
+        }
+
+        while (true) {
+            long t0 = System.nanoTime();
+            long next = expand(depth);
+            if (next == 0) {
+                Files.deleteIfExists(layer(depth + 1));
+                break;
+            }
+            counts.add(next);
+            depth++;
+            saveProgress();
+            // Only layers d and d - 1 are needed to detect duplicates from now on.
+            if (depth >= 2) Files.deleteIfExists(layer(depth - 2));
+            System.err.printf("depth %d: %,d boards (%,d ms)%n", depth, next, (System.nanoTime() - t0) / 1_000_000);
+        }
+        return counts;
+    }
+
+    /*
+     * Layer depth+1 = successors of layer depth, minus anything in layers depth and depth-1.
+     * Successors are sorted in memory-sized chunks and spilled as runs, then a single merge
+     * pass combines the runs, drops duplicates and filters against the two older layers.
+     */
+    private long expand(int depth) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        long[] buffer = new long[chunk];
+        int n = 0;
+        try (LayerReader in = new LayerReader(layer(depth))) {
+            while (in.hasNext()) {
+                long state = in.next();
+                int b = blank(state);
+                for (int to : moves[b]) {
+                    long tile = state >>> (4 * to) & 0xF;
+                    buffer[n++] = state - (tile << (4 * to)) + (tile << (4 * b));
+                    if (n == buffer.length) {
+                        runs.add(spill(buffer, n, runs.size()));
+                        n = 0;
+                    }
+                }
+            }
+        }
+        if (n > 0 || runs.isEmpty()) {
+            runs.add(spill(buffer, n, runs.size()));
+        }
+
+        Path tmp = dir.resolve("layer.tmp");
+        long written;
+        try (RunMerger merged = new RunMerger(runs);
+             LayerReader current = new LayerReader(layer(depth));
+             LayerReader previous = depth > 0 ? new LayerReader(layer(depth - 1)) : null;
+             LayerWriter out = new LayerWriter(tmp)) {
+            while (merged.hasNext()) {
+                long s = merged.next();
+                if (current.skipTo(s) || (previous != null && previous.skipTo(s))) continue;
+                out.write(s);
+            }
+            written = out.count();
+        }
+        for (Path run : runs) Files.delete(run);
+        Files.move(tmp, layer(depth + 1), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return written;
+    }
+
+    private Path spill(long[] buffer, int n, int index) throws IOException {
+        sortUnsigned(buffer, n);
+        Path run = dir.resolve(String.format("run-%05d.tmp", index));
+        try (LayerWriter w = new LayerWriter(run)) {
+            for (int i = 0; i < n; i++) {
+                if (i == 0 || buffer[i] != buffer[i - 1]) w.write(buffer[i]);
+            }
+        }
+        return run;
+    }
+
+    // ---- resume -------------------------------------------------------------
+
+    private String header() {
+        return rows + "x" + cols + " pattern=" + pattern;
+    }
+
+    private void saveProgress() throws IOException {
+        StringBuilder sb = new StringBuilder(header()).append('\n');
+        for (long c : counts) sb.append(c).append('\n');
+        Path tmp = dir.resolve("progress.tmp");
+        Files.write(tmp, sb.toString().getBytes(StandardCharsets.UTF_8));
+        Files.move(tmp, dir.resolve("progress.txt"), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // Returns the last completed depth, or -1 for a fresh start. Half-written files are dropped.
+    private int resume() throws IOException {
+        try (DirectoryStream<Path> stale = Files.newDirectoryStream(dir, "*.tmp")) {
+            for (Path p : stale) Files.delete(p);
+        }
+        Path progress = dir.resolve("progress.txt");
+        if (!Files.exists(progress)) return -1;
+
+        List<String> lines = Files.readAllLines(progress, StandardCharsets.UTF_8);
+        if (lines.isEmpty() || !lines.get(0).equals(header())) {
+            throw new IOException(dir + " holds a search for " + (lines.isEmpty() ? "?" : lines.get(0))
+                    + ", not " + header());
+        }
+        for (String line : lines.subList(1, lines.size())) {
+            counts.add(Long.parseLong(line.trim()));
+        }
+        int depth = counts.size() - 1;
+        // A layer beyond the recorded depth was renamed into place but never recorded.
+        Files.deleteIfExists(layer(depth + 1));
+        System.err.printf("Resuming %s at depth %d%n", header(), depth);
+        return depth;
+    }
+
+    // ---- layer files ----------------------------------------------------------
+
+    /*
+     * A layer (or run) is a strictly increasing sequence of unsigned longs. Each one is stored
+     * as the gap from the previous one in 7-bit groups (varint); neighbouring boards in sorted
+     * order share their high nibbles, so most gaps take 2-5 bytes instead of 8.
+     */
+    static final class LayerWriter implements Closeable {
+        private final OutputStream out;
+        private long previous;
+        private long count;
+
+        LayerWriter(Path file) throws IOException {
+            out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 20);
+        }
+
+        void write(long value) throws IOException {
+            long gap = value - previous;
+            previous = value;
+            count++;
+            while ((gap & ~0x7FL) != 0) {
+                out.write((int) (gap & 0x7F) | 0x80);
+                gap >>>= 7;
+            }
+            out.write((int) gap);
+        }
+
+        long count() {
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    static final class LayerReader implements Closeable {
+        private final InputStream in;
+        private long value;
+        private boolean ready;   // 'value' holds the next element, not yet returned
+        private boolean done;
+
+        LayerReader(Path file) throws IOException {
+            in = new BufferedInputStream(Files.newInputStream(file), 1 << 20);
+        }
+
+        private void fill() throws IOException {
+            if (ready || done) return;
+            long gap = 0;
+            int shift = 0;
+            while (true) {
+                int b = in.read();
+                if (b < 0) {
+                    if (shift != 0) throw new EOFException("Truncated layer file");
+                    done = true;
+                    return;
+                }
+                gap |= (long) (b & 0x7F) << shift;
+                if (b < 0x80) break;
+                shift += 7;
+            }
+            value += gap;
+            ready = true;
+        }
+
+        boolean hasNext() throws IOException {
+            fill();
+            return ready;
+        }
+
+        long next() throws IOException {
+            fill();
+            if (!ready) throw new NoSuchElementException();
+            ready = false;
+            return value;
+        }
+
+        // Advances past everything below 'target'; true if 'target' itself is in the file.
+        boolean skipTo(long target) throws IOException {
+            while (true) {
+                fill();
+                if (!ready) return false;
+                int cmp = Long.compareUnsigned(value, target);
+                if (cmp >= 0) return cmp == 0;
+                ready = false;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    // k-way merge of sorted runs that yields every distinct value once.
+    static final class RunMerger implements Closeable {
+        private final LayerReader[] readers;
+        private final long[] heads;   // current value of each reader, sign bit flipped
+        private final int[] heap;     // reader indices ordered by head
+        private int size;
+        private boolean first = true;
+        private long last;
+
+        RunMerger(List<Path> runs) throws IOException {
+            readers = new LayerReader[runs.size()];
+            heads = new long[runs.size()];
+            heap = new int[runs.size()];
+            for (int i = 0; i < readers.length; i++) {
+                readers[i] = new LayerReader(runs.get(i));
+                if (readers[i].hasNext()) {
+                    heads[i] = readers[i].next() ^ Long.MIN_VALUE;
+                    heap[size] = i;
+                    siftUp(size++);
+                }
+            }
+        }
+
+        private void siftUp(int i) {
+            int r = heap[i];
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heads[heap[parent]] <= heads[r]) break;
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = r;
+        }
+
+        private void siftDown(int i) {
+            int r = heap[i];
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) break;
+                if (child + 1 < size && heads[heap[child + 1]] < heads[heap[child]]) child++;
+                if (heads[r] <= heads[heap[child]]) break;
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = r;
+        }
+
+        private long pop() throws IOException {
+            int r = heap[0];
+            long value = heads[r] ^ Long.MIN_VALUE;
+            if (readers[r].hasNext()) {
+                heads[r] = readers[r].next() ^ Long.MIN_VALUE;
+            } else {
+                heap[0] = heap[--size];
+            }
+            if (size > 0) siftDown(0);
+            return value;
+        }
+
+        boolean hasNext() throws IOException {
+            while (size > 0 && !first && (heads[heap[0]] ^ Long.MIN_VALUE) == last) {
+                pop(); // the same board generated in another run
+            }
+            return size > 0;
+        }
+
+        long next() throws IOException {
+            if (!hasNext()) throw new NoSuchElementException();
+            last = pop();
+            first = false;
+            return last;
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (LayerReader r : readers) r.close();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        // usage: ExternalBFS rows cols [--pattern 1,2,3] [--dir path] [--chunk millions]
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        int cols = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        int[] pattern = null;
+        Path dir = null;
+        int chunk = 16_000_000;
+        for (int i = 2; i < args.length; i++) {
+            switch (args[i]) {
+                case "--pattern":
+                    pattern = Arrays.stream(args[++i].split(",")).mapToInt(t -> Integer.parseInt(t.trim())).toArray();
+                    break;
+                case "--dir":
+                    dir = Paths.get(args[++i]);
+                    break;
+                case "--chunk":
+                    chunk = (int) (Double.parseDouble(args[++i]) * 1_000_000);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if (dir == null) {
+            dir = Paths.get("bfs-" + rows + "x" + cols + (pattern == null ? "" : "-pattern"));
+        }
+
+        long t0 = System.nanoTime();
+        List<Long> counts = new ExternalBFS(rows, cols, pattern, dir, chunk).run();
+        long total = 0;
+        System.out.println("depth\tboards");
+        for (int d = 0; d < counts.size(); d++) {
+            System.out.println(d + "\t" + counts.get(d));
+            total += counts.get(d);
+        }
+        System.out.println("Total boards: " + total + ", diameter: " + (counts.size() - 1)
+                + ", " + (System.nanoTime() - t0) / 1_000_000 + " ms");
+    }
+}
+
+
+/*
+
+# Short problem statement
+
+`BFS` keeps one byte per 8-puzzle board in memory, which stops working once the state space outgrows the heap — the 3×4 puzzle has 239,500,800 reachable boards, the 4×4 over 10^13. `ExternalBFS` enumerates every board reachable from the goal one layer at a time, keeping only small buffers in memory and the layers themselves on disk, and reports how many boards sit at each distance (the depth histogram) and the largest distance (the diameter).
+
+---
+
+# How it works
+
+* **Boards**: any `rows × cols` board with at most 16 cells, 4 bits per cell in a `long` (`--pattern 1,2,3,...` keeps only those tiles distinct and relabels the rest as one "don't care" tile, giving the abstract spaces used for pattern databases).
+* **Layer files**: layer `d` holds every board at distance `d`, sorted as unsigned numbers and stored as varint gaps between consecutive boards (`LayerWriter` / `LayerReader`).
+* **Expanding a layer**: stream layer `d`, generate all successors into a `long[]` chunk (`--chunk` million entries). Each full chunk is sorted, deduplicated and spilled as a run file.
+* **Duplicate detection**: a `RunMerger` heap merges all runs into one sorted, distinct stream. Every neighbour of a board at distance `d` is at distance `d - 1`, `d` or `d + 1`, so the merged stream is walked in lockstep with layers `d` and `d - 1`. Whatever appears in neither is new and goes into layer `d + 1`. Everything is sequential I/O, and layer `d - 2` can be deleted once `d + 1` is complete.
+* **Resume**: a layer is written to `layer.tmp` and renamed into place atomically, then `progress.txt` (board shape + the count for each depth) is replaced atomically too. On restart, leftover `*.tmp` files are deleted and the search continues from the last recorded depth. Re-running the same command after a crash or `kill` picks up where it stopped.
+
+---
+
+# Cost
+
+* Memory: one chunk of successors (`8 · chunk` bytes) plus buffered streams.
+* Disk: the two or three live layers, plus the runs for the layer being built.
+* Time: each layer is read three times (expanding, and as "current" and "previous" for the following two layers), and every successor is sorted once and merged once.
+
+*/
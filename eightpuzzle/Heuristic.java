@@ -0,0 +1,51 @@
+package Eight_Puzzle;
+
+public interface Heuristic {
+
+    String name();
+
+    // Full evaluation of a board; also resets any incremental state to this board.
+    int estimate(int[] board);
+
+    // The tile moved from 'from' into the blank at 'to' (board is already updated).
+    // Returns the new estimate and remembers enough to undo().
+    int move(int[] board, int tile, int from, int to);
+
+    // Reverts the most recent move().
+    void undo();
+
+    String[] NAMES = { "manhattan", "linear-conflict", "walking-distance" };
+
+    static Heuristic create(String name, SlidingPuzzle puzzle, int[] goal) {
+        switch (name) {
+            case "manhattan":
+                return new ManhattanHeuristic(puzzle, goal);
+            case "linear-conflict":
+                return new LinearConflictHeuristic(puzzle, goal);
+            case "walking-distance":
+                return new WalkingDistanceHeuristic(puzzle, goal);
+            default:
+                throw new IllegalArgumentException("Unknown heuristic '" + name + "', expected one of "
+                        + String.join(", ", NAMES));
+        }
+    }
+}
+
+
+/*
+
+# Short problem statement
+
+The solvers used to hardcode Manhattan distance. `Heuristic` lets a search pick its estimate by name (`manhattan`, `linear-conflict`, `walking-distance`) or use a pattern database, without changing the search code.
+
+---
+
+# Contract
+
+* `estimate(board)` — full evaluation from scratch. A\* calls it for every generated board; IDA\* calls it once at the root.
+* `move(board, tile, from, to)` / `undo()` — the incremental path used by IDA\*. Only one tile moves per step, so each heuristic updates just what that tile touches (one table entry for Manhattan, two lines for linear conflict, one of the two walking-distance tables). `undo()` pops the saved state when the recursion returns.
+* Every implementation precomputes its goal tables (goal row / column / position of each tile) once in the constructor, so there is no `goal.indexOf(c)` in the inner loop.
+
+An instance keeps per-search state, so each search (or thread) needs its own — call `create` again rather than sharing one.
+
+*/
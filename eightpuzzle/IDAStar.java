@@ -0,0 +1,218 @@
+package Eight_Puzzle;
+
+import java.util.*;
+
+public class IDAStar {
+
+    private static final int FOUND = -1;
+
+    private final SlidingPuzzle puzzle;
+    private final int[] board;      // mutated in place while searching
+    private final Heuristic heuristic;
+    private final int[] path;       // blank positions along the current path
+    private int solutionLength;
+    private long nodes;
+
+    private IDAStar(SlidingPuzzle puzzle, int[] start, Heuristic heuristic) {
+        this.puzzle = puzzle;
+        this.heuristic = heuristic;
+        board = start.clone();
+        path = new int[256];
+    }
+
+    // Returns FOUND, or the smallest f that exceeded the threshold.
+    private int search(int blank, int g, int h, int threshold, int prevBlank) {
+        int f = g + h;
+        if (f > threshold) return f;
+        if (h == 0) {
+            solutionLength = g;
+            return FOUND;
+        }
+        nodes++;
+
+        int min = Integer.MAX_VALUE;
+        for (int next : puzzle.moves[blank]) {
+            if (next == prevBlank) continue; // never undo the move we just made
+
+            int tile = board[next];
+            board[blank] = tile;
+            board[next] = 0;
+            path[g + 1] = next;
+            int nextH = heuristic.move(board, tile, next, blank);
+
+            int t = search(next, g + 1, nextH, threshold, blank);
+
+            heuristic.undo();
+            board[next] = tile;
+            board[blank] = 0;
+            if (t == FOUND) return FOUND;
+            if (t < min) min = t;
+        }
+        return min;
+    }
+
+    public static Solution solve(int[] start, int[] goal) {
+        SlidingPuzzle puzzle = SlidingPuzzle.forCells(start.length);
+        return solve(start, goal, new ManhattanHeuristic(puzzle, goal));
+    }
+
+    public static Solution solve(int[] start, int[] goal, PatternDatabase pdb) {
+        if (pdb == null) {
+            return solve(start, goal);
+        }
+        if (pdb.puzzle.cells != start.length || !Arrays.equals(pdb.goal, goal)) {
+            throw new IllegalArgumentException("Pattern database was built for a different board or goal");
+        }
+        return solve(start, goal, pdb.newHeuristic());
+    }
+
+    // The heuristic must be admissible for this goal and not shared with another running search.
+    public static Solution solve(int[] start, int[] goal, Heuristic heuristic) {
+        SlidingPuzzle puzzle = SlidingPuzzle.forCells(start.length);
+        puzzle.checkBoard(start);
+        puzzle.checkBoard(goal);
+        if (!puzzle.isSolvable(start, goal)) {
+            return null;
+        }
+
+        IDAStar ida = new IDAStar(puzzle, start, heuristic);
+        int blank = puzzle.positions(start)[0];
+        int h = heuristic.estimate(ida.board);
+        int threshold = h;
+        ida.path[0] = blank;
+
+        while (true) {
+            int t = ida.search(blank, 0, h, threshold, -1);
+            if (t == FOUND) break;
+            threshold = t;
+        }
+        return new Solution(puzzle.width, Arrays.copyOf(ida.path, ida.solutionLength + 1), ida.nodes);
+    }
+
+    // Solves every board with every heuristic and reports how much work each one needed.
+    private static void compare(String[] starts, PatternDatabase pdb) {
+        List<String> names = new ArrayList<>(Arrays.asList(Heuristic.NAMES));
+        if (pdb != null) names.add("pattern-database");
+        long[] totalNodes = new long[names.size()];
+        long[] totalMs = new long[names.size()];
+
+        for (String s : starts) {
+            int[] start = SlidingPuzzle.parse(s);
+            SlidingPuzzle puzzle = SlidingPuzzle.forCells(start.length);
+            int[] goal = puzzle.goal();
+            System.out.println(s);
+            for (int i = 0; i < names.size(); i++) {
+                String name = names.get(i);
+                Heuristic heuristic;
+                try {
+                    heuristic = name.equals("pattern-database") ? pdb.newHeuristic() : Heuristic.create(name, puzzle, goal);
+                } catch (IllegalArgumentException e) {
+                    System.out.printf("  %-18s skipped: %s%n", name, e.getMessage());
+                    continue;
+                }
+                long t0 = System.nanoTime();
+                Solution solution = solve(start, goal, heuristic);
+                long ms = (System.nanoTime() - t0) / 1_000_000;
+                if (solution == null) {
+                    System.out.printf("  %-18s no solution%n", name);
+                    continue;
+                }
+                totalNodes[i] += solution.nodesExpanded();
+                totalMs[i] += ms;
+                System.out.printf("  %-18s cost %3d  %,14d nodes  %,8d ms%n", name, solution.cost(), solution.nodesExpanded(), ms);
+            }
+        }
+        System.out.println("Total");
+        for (int i = 0; i < names.size(); i++) {
+            System.out.printf("  %-18s %,14d nodes  %,8d ms%n", names.get(i), totalNodes[i], totalMs[i]);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        // usage: IDAStar [--compare] [--heuristic name] [--pdb file "group|group|..."] [board ...]
+        List<String> rest = new ArrayList<>(Arrays.asList(args));
+        boolean compare = false;
+        String heuristicName = "manhattan", pdbFile = null, pdbGroups = null;
+        while (!rest.isEmpty() && rest.get(0).startsWith("--")) {
+            String option = rest.remove(0);
+            if (option.equals("--compare")) {
+                compare = true;
+            } else if (option.equals("--heuristic")) {
+                heuristicName = rest.remove(0);
+            } else if (option.equals("--pdb")) {
+                pdbFile = rest.remove(0);
+                pdbGroups = rest.remove(0);
+            } else {
+                throw new IllegalArgumentException("Unknown option " + option);
+            }
+        }
+        String[] starts = !rest.isEmpty() ? rest.toArray(new String[0]) : new String[] {
+                "867254301",                                  // 31 moves, hardest 8-puzzle
+                "6 14 3 4 8 0 15 1 10 5 7 11 2 9 12 13",      // 15-puzzle, 48 moves
+                "1 7 8 3 4 6 12 5 10 13 18 9 0 14 2 11 16 17 20 24 21 22 19 23 15", // 24-puzzle
+        };
+
+        PatternDatabase pdb = null;
+        if (pdbFile != null) {
+            SlidingPuzzle puzzle = SlidingPuzzle.forCells(SlidingPuzzle.parse(starts[0]).length);
+            pdb = PatternDatabase.loadOrBuild(java.nio.file.Paths.get(pdbFile), puzzle, puzzle.goal(),
+                    PatternDatabase.parseGroups(pdbGroups));
+        }
+        if (compare) {
+            compare(starts, pdb);
+            return;
+        }
+
+        for (String s : starts) {
+            int[] start = SlidingPuzzle.parse(s);
+            SlidingPuzzle puzzle = SlidingPuzzle.forCells(start.length);
+            int[] goal = puzzle.goal();
+            Heuristic heuristic = pdb != null ? pdb.newHeuristic() : Heuristic.create(heuristicName, puzzle, goal);
+            long t0 = System.nanoTime();
+            Solution solution = solve(start, goal, heuristic);
+            long ms = (System.nanoTime() - t0) / 1_000_000;
+            if (solution == null) {
+                System.out.println(s + " -> No solution found!");
+            } else {
+                System.out.println(s + " -> " + solution + " in " + ms + " ms");
+            }
+        }
+    }
+}
+
+
+/*
+
+# Short problem statement
+
+`AStarSearch` keeps every generated board in its open list and tables, so memory grows with the number of nodes — fine for the 8-puzzle, hopeless for the 15- and 24-puzzle. **IDA\*** (iterative-deepening A\*) finds the same optimal solutions while only remembering the current path.
+
+---
+
+# How it works
+
+1. `threshold = h(start)`.
+2. Depth-first search from the start, cutting off any node with `f = g + h > threshold`. Remember the smallest `f` that was cut off.
+3. If the goal was not reached, set `threshold` to that smallest `f` and repeat.
+
+Because Manhattan distance is admissible, the first time the goal is reached its cost is optimal.
+
+---
+
+# What keeps it fast
+
+* **One mutable board**: a move swaps two cells in `board[]`, the recursive call runs, and the swap is undone. No boards are copied.
+* **Incremental heuristic**: only one tile moves, so each `Heuristic` updates just what that tile touches — for Manhattan `h' = h - dist(tile, old) + dist(tile, new)`, two array reads instead of a full scan — and `undo()` restores it on the way back up.
+* **Parent-move pruning**: never move the blank straight back to where it just came from (`prevBlank`). This removes the most common duplicate without any visited set.
+* **Solvability check** first: an unsolvable board would otherwise make IDA\* deepen forever.
+* **Heuristic choice**: `--heuristic manhattan | linear-conflict | walking-distance`. `--compare` runs every heuristic on every board and prints the cost, nodes expanded and time of each, so the cheapest one that still cuts node count can be picked.
+* **Pattern databases** (`--pdb file "1,5,6,9,10,13|7,8,11,12,14,15|2,3,4"`): `h` becomes the sum of the disjoint group values. A move only changes the group that owns the moved tile, so only that group is re-ranked and looked up.
+
+---
+
+# Complexity
+
+* Time: exponential in solution depth, like A\*; iterations repeat some work but the last iteration dominates.
+* Memory: `O(depth)` — the recursion stack and `path[]`. Nothing grows with the number of expanded nodes.
+
+*/
@@ -0,0 +1,165 @@
+package Eight_Puzzle;
+
+import java.util.*;
+
+final class LinearConflictHeuristic implements Heuristic {
+
+    private final SlidingPuzzle puzzle;
+    private final int width;
+    private final int cells;
+    private final int[] distance;  // Manhattan: distance[tile * cells + pos]
+    private final int[] goalRow;
+    private final int[] goalCol;
+
+    private int manhattan;
+    private int conflicts;         // tiles removed over all lines; h = manhattan + 2 * conflicts
+    private final int[] rowConflicts;
+    private final int[] colConflicts;
+
+    // Undo record per depth: manhattan, conflicts, isRow, line a, old a, line b, old b
+    private static final int RECORD = 7;
+    private int[] undo = new int[64 * RECORD];
+    private int depth;
+
+    private final int[] line;      // scratch: goal coordinates of the tiles in one line
+    private final int[] count;     // scratch: longest increasing run ending at each tile
+
+    LinearConflictHeuristic(SlidingPuzzle puzzle, int[] goal) {
+        this.puzzle = puzzle;
+        width = puzzle.width;
+        cells = puzzle.cells;
+        distance = puzzle.manhattanTable(goal);
+        int[] goalPos = puzzle.positions(goal);
+        goalRow = new int[cells];
+        goalCol = new int[cells];
+        for (int tile = 0; tile < cells; tile++) {
+            goalRow[tile] = puzzle.row(goalPos[tile]);
+            goalCol[tile] = puzzle.col(goalPos[tile]);
+        }
+        rowConflicts = new int[width];
+        colConflicts = new int[width];
+        line = new int[width];
+        count = new int[width];
+    }
+
+    @Override
+    public String name() {
+        return "linear-conflict";
+    }
+
+    @Override
+    public int estimate(int[] board) {
+        manhattan = 0;
+        for (int pos = 0; pos < cells; pos++) {
+            manhattan += distance[board[pos] * cells + pos];
+        }
+        conflicts = 0;
+        for (int i = 0; i < width; i++) {
+            rowConflicts[i] = rowConflicts(board, i);
+            colConflicts[i] = colConflicts(board, i);
+            conflicts += rowConflicts[i] + colConflicts[i];
+        }
+        depth = 0;
+        return manhattan + 2 * conflicts;
+    }
+
+    @Override
+    public int move(int[] board, int tile, int from, int to) {
+        int base = depth * RECORD;
+        if (base + RECORD > undo.length) {
+            undo = Arrays.copyOf(undo, undo.length << 1);
+        }
+        undo[base] = manhattan;
+        undo[base + 1] = conflicts;
+        manhattan += distance[tile * cells + to] - distance[tile * cells + from];
+
+        // A horizontal move keeps the order inside its row but changes two columns, and vice versa.
+        boolean vertical = puzzle.row(from) != puzzle.row(to);
+        int a = vertical ? puzzle.row(from) : puzzle.col(from);
+        int b = vertical ? puzzle.row(to) : puzzle.col(to);
+        int[] lines = vertical ? rowConflicts : colConflicts;
+        undo[base + 2] = vertical ? 1 : 0;
+        undo[base + 3] = a;
+        undo[base + 4] = lines[a];
+        undo[base + 5] = b;
+        undo[base + 6] = lines[b];
+        depth++;
+
+        int newA = vertical ? rowConflicts(board, a) : colConflicts(board, a);
+        int newB = vertical ? rowConflicts(board, b) : colConflicts(board, b);
+        conflicts += newA - lines[a] + newB - lines[b];
+        lines[a] = newA;
+        lines[b] = newB;
+        return manhattan + 2 * conflicts;
+    }
+
+    @Override
+    public void undo() {
+        int base = --depth * RECORD;
+        manhattan = undo[base];
+        conflicts = undo[base + 1];
+        int[] lines = undo[base + 2] == 1 ? rowConflicts : colConflicts;
+        lines[undo[base + 5]] = undo[base + 6];
+        lines[undo[base + 3]] = undo[base + 4];
+    }
+
+    private int rowConflicts(int[] board, int r) {
+        int n = 0;
+        for (int c = 0; c < width; c++) {
+            int tile = board[r * width + c];
+            if (tile != 0 && goalRow[tile] == r) {
+                line[n++] = goalCol[tile];
+            }
+        }
+        return removals(n);
+    }
+
+    private int colConflicts(int[] board, int c) {
+        int n = 0;
+        for (int r = 0; r < width; r++) {
+            int tile = board[r * width + c];
+            if (tile != 0 && goalCol[tile] == c) {
+                line[n++] = goalRow[tile];
+            }
+        }
+        return removals(n);
+    }
+
+    // Fewest tiles to take out of the line so the rest are in goal order (n minus the
+    // longest increasing run); each removed tile must step out and back in, costing 2 moves.
+    private int removals(int n) {
+        int longest = 0;
+        for (int i = 0; i < n; i++) {
+            count[i] = 1;
+            for (int j = 0; j < i; j++) {
+                if (line[j] < line[i] && count[j] + 1 > count[i]) {
+                    count[i] = count[j] + 1;
+                }
+            }
+            longest = Math.max(longest, count[i]);
+        }
+        return n - longest;
+    }
+}
+
+
+/*
+
+# Short problem statement
+
+Manhattan distance ignores that two tiles in their goal row (or column) but in the wrong order must pass each other, which is impossible without one of them leaving the line. **Linear conflict** adds 2 moves for every tile that has to step out of its line, on top of Manhattan.
+
+---
+
+# How it works
+
+* For each row, take the tiles whose goal is in that row, in board order, and look at their goal columns. The number of tiles that must be removed so the remaining ones are increasing — the line length minus its longest increasing subsequence — is the row's conflict count. Columns work the same way.
+* `h = manhattan + 2 · (sum of row conflicts + sum of column conflicts)`. Still admissible: the extra moves are vertical for row conflicts and horizontal for column conflicts, which Manhattan never counts for those tiles.
+
+---
+
+# Incremental update
+
+A horizontal move keeps the order of tiles inside its row, so only the two columns the tile left and entered can change (and symmetrically for vertical moves). `move()` recomputes just those two lines — `O(width²)` — and saves their old values plus `manhattan`/`conflicts` in a flat `int[]` record so `undo()` restores them without recomputing.
+
+*/
@@ -0,0 +1,92 @@
+package Eight_Puzzle;
+
+import java.util.*;
+
+public final class LongMinHeap {
+
+    private long[] heap;
+    private int size;
+
+    public LongMinHeap(int initialCapacity) {
+        heap = new long[Math.max(16, initialCapacity)];
+    }
+
+    // Priority goes in the high bits, the packed board in the low 40.
+    static long key(int priority, long state) {
+        return (long) priority << 40 | state;
+    }
+
+    static long state(long key) {
+        return key & PackedBoard.STATE_MASK;
+    }
+
+    static int priority(long key) {
+        return (int) (key >>> 40);
+    }
+
+    public void add(long key) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size << 1);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= key) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = key;
+    }
+
+    public long poll() {
+        long top = heap[0];
+        long last = heap[--size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) child++;
+            if (last <= heap[child]) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return top;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+}
+
+
+/*
+
+# Short problem statement
+
+`PriorityQueue<State>` with a comparator lambda re-evaluates `f` (and hashes strings to look up `g`) on every sift, and it boxes one object per queued node. `LongMinHeap` is a binary min-heap of raw `long`s instead.
+
+---
+
+# How it works
+
+* Each entry is `priority << 40 | packedBoard`, so comparing two entries is a single `long` comparison: lower priority first, ties broken by the board bits.
+* The priority is frozen at insertion time, which is exactly what A* / best-first want (no hidden dependency on a mutable map).
+* `add` sifts up, `poll` sifts the last element down from the root; the array doubles when full.
+
+---
+
+# Complexity
+
+* `add` / `poll`: `O(log n)` with no allocation except the occasional array growth.
+* Memory: 8 bytes per queued entry.
+
+*/
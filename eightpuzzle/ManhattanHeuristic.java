@@ -0,0 +1,62 @@
+package Eight_Puzzle;
+
+import java.util.*;
+
+final class ManhattanHeuristic implements Heuristic {
+
+    private final int cells;
+    private final int[] distance;  // distance[tile * cells + pos]
+    private int[] stack = new int[64];
+    private int depth;
+
+    ManhattanHeuristic(SlidingPuzzle puzzle, int[] goal) {
+        cells = puzzle.cells;
+        distance = puzzle.manhattanTable(goal);
+    }
+
+    @Override
+    public String name() {
+        return "manhattan";
+    }
+
+    @Override
+    public int estimate(int[] board) {
+        int h = 0;
+        for (int pos = 0; pos < cells; pos++) {
+            h += distance[board[pos] * cells + pos];
+        }
+        depth = 0;
+        stack[0] = h;
+        return h;
+    }
+
+    @Override
+    public int move(int[] board, int tile, int from, int to) {
+        int h = stack[depth] - distance[tile * cells + from] + distance[tile * cells + to];
+        if (++depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth << 1);
+        }
+        stack[depth] = h;
+        return h;
+    }
+
+    @Override
+    public void undo() {
+        depth--;
+    }
+}
+
+
+/*
+
+# Short problem statement
+
+Sum over all tiles of the row + column distance to the tile's goal cell. Admissible and consistent, because every move shifts exactly one tile by one cell.
+
+---
+
+# Incremental update
+
+`distance[tile * cells + pos]` is precomputed from the goal, so a move changes `h` by `distance[tile, to] - distance[tile, from]` — two array reads. The stack holds `h` for each depth so `undo()` is just `depth--`.
+
+*/
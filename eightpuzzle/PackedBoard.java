@@ -0,0 +1,115 @@
+package Eight_Puzzle;
+
+public final class PackedBoard {
+
+    // Bits 0..35 hold the nine tiles (4 bits each, row-major),
+    // bits 36..39 cache the index of the blank.
+    static final int SIZE = 9;
+    static final int BLANK_SHIFT = 36;
+    static final long STATE_MASK = (1L << 40) - 1;
+
+    // Marks "no parent" for the start state; the blank field can never be 15.
+    static final long NONE = STATE_MASK;
+
+    static final int[][] MOVES = SlidingPuzzle.EIGHT.moves;
+
+    private PackedBoard() {
+    }
+
+    public static long pack(String puzzle) {
+        if (puzzle.length() != SIZE) {
+            throw new IllegalArgumentException("Board must have 9 tiles: " + puzzle);
+        }
+        long state = 0;
+        int blank = -1;
+        for (int i = 0; i < SIZE; i++) {
+            int tile = puzzle.charAt(i) - '0';
+            if (tile < 0 || tile >= SIZE) {
+                throw new IllegalArgumentException("Bad tile '" + puzzle.charAt(i) + "' in " + puzzle);
+            }
+            if (tile == 0) blank = i;
+            state |= (long) tile << (i << 2);
+        }
+        if (blank < 0) {
+            throw new IllegalArgumentException("Board has no blank: " + puzzle);
+        }
+        return state | (long) blank << BLANK_SHIFT;
+    }
+
+    public static String unpack(long state) {
+        char[] arr = new char[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            arr[i] = (char) ('0' + tile(state, i));
+        }
+        return new String(arr);
+    }
+
+    static int tile(long state, int pos) {
+        return (int) (state >>> (pos << 2)) & 0xF;
+    }
+
+    static int blank(long state) {
+        return (int) (state >>> BLANK_SHIFT) & 0xF;
+    }
+
+    // Slides the tile at 'to' into the blank; the blank ends up at 'to'.
+    static long slide(long state, int to) {
+        int from = blank(state);
+        long t = (state >>> (to << 2)) & 0xF;
+        state &= ~(0xFL << (to << 2));
+        state |= t << (from << 2);
+        return (state & ~(0xFL << BLANK_SHIFT)) | (long) to << BLANK_SHIFT;
+    }
+
+    // goalPos[tile] = index of that tile in the goal board.
+    static int[] positions(long goal) {
+        int[] pos = new int[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            pos[tile(goal, i)] = i;
+        }
+        return pos;
+    }
+
+    static int manhattan(long state, int[] goalPos) {
+        int distance = 0;
+        for (int i = 0; i < SIZE; i++) {
+            int t = tile(state, i);
+            if (t != 0) {
+                distance += SlidingPuzzle.EIGHT.distance(i, goalPos[t]);
+            }
+        }
+        return distance;
+    }
+}
+
+
+/*
+
+# Short problem statement
+
+All 8-puzzle solvers in this package need the same three things for a board: a compact key for the visited/parent tables, the blank's position, and a cheap way to make a move. `PackedBoard` provides those without creating objects.
+
+---
+
+# Layout of the packed `long`
+
+```
+bits  0..3   tile at index 0
+bits  4..7   tile at index 1
+...
+bits 32..35  tile at index 8
+bits 36..39  index of the blank (0..8)
+```
+
+* `pack("123405678")` builds the long once from the usual 9-character string.
+* `slide(state, to)` moves the tile at `to` into the blank with a handful of shifts and masks and updates the cached blank index — no `char[]`, no `String`.
+* `unpack(state)` turns it back into a string, only needed when printing.
+* `NONE` (all 40 bits set) is used as the "no parent" marker; it cannot be a real board because the blank field would be 15.
+
+---
+
+# Why
+
+A `String` key costs ~56 bytes plus a `HashMap.Node` per table it lives in, and every move allocated a new `char[]` and `String`. A packed board is a single primitive, so it can live directly inside `long[]` tables (see `LongLongMap`) and priority queues (see `LongMinHeap`).
+
+*/
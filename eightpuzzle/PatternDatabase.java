@@ -0,0 +1,417 @@
+package Eight_Puzzle;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+public class PatternDatabase {
+
+    private static final int MAGIC = 0x50444231; // "PDB1"
+    private static final int UNSET = 0xFF;
+
+    final SlidingPuzzle puzzle;
+    final int[] goal;
+    final int[][] groups;     // disjoint tile sets, together covering every non-blank tile
+    final int[] groupOf;      // groupOf[tile] = index into groups, -1 for the blank
+    private final ByteBuffer[] tables;
+
+    private PatternDatabase(SlidingPuzzle puzzle, int[] goal, int[][] groups, ByteBuffer[] tables) {
+        this.puzzle = puzzle;
+        this.goal = goal;
+        this.groups = groups;
+        this.tables = tables;
+        groupOf = new int[puzzle.cells];
+        Arrays.fill(groupOf, -1);
+        for (int g = 0; g < groups.length; g++) {
+            for (int tile : groups[g]) {
+                if (tile <= 0 || tile >= puzzle.cells || groupOf[tile] != -1) {
+                    throw new IllegalArgumentException("Groups must be disjoint non-blank tiles: " + Arrays.deepToString(groups));
+                }
+                groupOf[tile] = g;
+            }
+        }
+        for (int tile = 1; tile < puzzle.cells; tile++) {
+            if (groupOf[tile] == -1) {
+                throw new IllegalArgumentException("Tile " + tile + " is not in any group");
+            }
+        }
+    }
+
+    // Moves needed by the tiles of group g alone, given positions[tile] for the whole board.
+    int groupValue(int g, int[] positions) {
+        return tables[g].get((int) rank(groups[g], positions, puzzle.cells)) & 0xFF;
+    }
+
+    // A fresh incremental view for one search; the tables themselves are shared.
+    // Groups are disjoint and only count their own tiles' moves, so the sum stays admissible.
+    public Heuristic newHeuristic() {
+        return new Heuristic() {
+            private final int[] positions = new int[puzzle.cells];
+            private final int[] groupH = new int[groups.length];
+            private int h;
+            // Undo record per depth: tile, from, group value before the move
+            private int[] undo = new int[64 * 3];
+            private int depth;
+
+            @Override
+            public String name() {
+                return "pattern-database";
+            }
+
+            @Override
+            public int estimate(int[] board) {
+                for (int pos = 0; pos < board.length; pos++) {
+                    positions[board[pos]] = pos;
+                }
+                h = 0;
+                for (int g = 0; g < groups.length; g++) {
+                    groupH[g] = groupValue(g, positions);
+                    h += groupH[g];
+                }
+                depth = 0;
+                return h;
+            }
+
+            @Override
+            public int move(int[] board, int tile, int from, int to) {
+                int base = depth++ * 3;
+                if (base + 3 > undo.length) {
+                    undo = Arrays.copyOf(undo, undo.length << 1);
+                }
+                // only the group that owns the moved tile can change
+                int g = groupOf[tile];
+                undo[base] = tile;
+                undo[base + 1] = from;
+                undo[base + 2] = groupH[g];
+                positions[tile] = to;
+                int value = groupValue(g, positions);
+                h += value - groupH[g];
+                groupH[g] = value;
+                return h;
+            }
+
+            @Override
+            public void undo() {
+                int base = --depth * 3;
+                int tile = undo[base];
+                int g = groupOf[tile];
+                positions[tile] = undo[base + 1];
+                h += undo[base + 2] - groupH[g];
+                groupH[g] = undo[base + 2];
+            }
+        };
+    }
+
+    // Builds every group on a background pool; the future completes when all tables are ready.
+    public static CompletableFuture<PatternDatabase> buildAsync(SlidingPuzzle puzzle, int[] goal, int[][] groups) {
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(groups.length, Runtime.getRuntime().availableProcessors()));
+        List<CompletableFuture<ByteBuffer>> parts = new ArrayList<>();
+        for (int[] group : groups) {
+            parts.add(CompletableFuture.supplyAsync(() -> ByteBuffer.wrap(buildGroup(puzzle, goal, group)), pool));
+        }
+        return CompletableFuture.allOf(parts.toArray(new CompletableFuture<?>[0]))
+                .thenApply(done -> {
+                    ByteBuffer[] tables = new ByteBuffer[groups.length];
+                    for (int g = 0; g < groups.length; g++) {
+                        tables[g] = parts.get(g).join();
+                    }
+                    return new PatternDatabase(puzzle, goal.clone(), groups, tables);
+                })
+                .whenComplete((pdb, error) -> pool.shutdown());
+    }
+
+    public static PatternDatabase build(SlidingPuzzle puzzle, int[] goal, int[][] groups) {
+        try {
+            return buildAsync(puzzle, goal, groups).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+
+    public static PatternDatabase loadOrBuild(Path file, SlidingPuzzle puzzle, int[] goal, int[][] groups) throws IOException {
+        if (Files.exists(file)) {
+            PatternDatabase pdb = load(file);
+            if (pdb.puzzle.width == puzzle.width && Arrays.equals(pdb.goal, goal) && Arrays.deepEquals(pdb.groups, groups)) {
+                return pdb;
+            }
+        }
+        PatternDatabase pdb = build(puzzle, goal, groups);
+        pdb.save(file);
+        return pdb;
+    }
+
+    /*
+     * 0-1 BFS over (pattern tile positions, blank region). Sliding the blank through cells
+     * that hold no pattern tile is free, so a state keeps only the lowest cell of the blank's
+     * region; moving a pattern tile costs 1 and starts the next layer.
+     */
+    static byte[] buildGroup(SlidingPuzzle puzzle, int[] goal, int[] tiles) {
+        int cells = puzzle.cells;
+        int k = tiles.length;
+        long size = permutations(cells, k);
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Pattern of " + k + " tiles is too large for " + puzzle.width + "x" + puzzle.width);
+        }
+        byte[] table = new byte[(int) size];
+        Arrays.fill(table, (byte) UNSET);
+        long[] visited = new long[(int) ((size * cells + 63) >>> 6)];
+
+        int[] goalPos = puzzle.positions(goal);
+        int[] positions = new int[cells];
+        for (int tile : tiles) {
+            positions[tile] = goalPos[tile];
+        }
+        long occupied = occupancy(tiles, positions);
+        long key = rank(tiles, positions, cells) * cells + lowestInRegion(puzzle, occupied, goalPos[0]);
+        visited[(int) (key >>> 6)] |= 1L << key;
+
+        long[] layer = { key };
+        int layerSize = 1;
+        int[] tileAt = new int[cells];
+        for (int depth = 0; layerSize > 0; depth++) {
+            long[] next = new long[Math.max(16, layerSize)];
+            int nextSize = 0;
+            for (int i = 0; i < layerSize; i++) {
+                long patternRank = layer[i] / cells;
+                int blank = (int) (layer[i] % cells);
+                if ((table[(int) patternRank] & 0xFF) == UNSET) {
+                    table[(int) patternRank] = (byte) depth;
+                }
+                unrank(tiles, patternRank, cells, positions);
+                occupied = occupancy(tiles, positions);
+                Arrays.fill(tileAt, -1);
+                for (int tile : tiles) {
+                    tileAt[positions[tile]] = tile;
+                }
+
+                long region = region(puzzle, occupied, blank);
+                for (long rest = region; rest != 0; rest &= rest - 1) {
+                    int cell = Long.numberOfTrailingZeros(rest);
+                    for (int nb : puzzle.moves[cell]) {
+                        int tile = tileAt[nb];
+                        if (tile < 0) continue;
+                        // tile slides from nb into the blank at cell
+                        positions[tile] = cell;
+                        long moved = occupied ^ (1L << nb) ^ (1L << cell);
+                        long nextKey = rank(tiles, positions, cells) * cells + lowestInRegion(puzzle, moved, nb);
+                        positions[tile] = nb;
+                        if ((visited[(int) (nextKey >>> 6)] & (1L << nextKey)) == 0) {
+                            visited[(int) (nextKey >>> 6)] |= 1L << nextKey;
+                            if (nextSize == next.length) {
+                                next = Arrays.copyOf(next, nextSize << 1);
+                            }
+                            next[nextSize++] = nextKey;
+                        }
+                    }
+                }
+            }
+            layer = next;
+            layerSize = nextSize;
+        }
+        return table;
+    }
+
+    private static long occupancy(int[] tiles, int[] positions) {
+        long mask = 0;
+        for (int tile : tiles) {
+            mask |= 1L << positions[tile];
+        }
+        return mask;
+    }
+
+    // Cells the blank can reach from 'blank' without moving a pattern tile.
+    private static long region(SlidingPuzzle puzzle, long occupied, int blank) {
+        long region = 1L << blank;
+        long frontier = region;
+        while (frontier != 0) {
+            int cell = Long.numberOfTrailingZeros(frontier);
+            frontier &= frontier - 1;
+            for (int nb : puzzle.moves[cell]) {
+                long bit = 1L << nb;
+                if ((occupied & bit) == 0 && (region & bit) == 0) {
+                    region |= bit;
+                    frontier |= bit;
+                }
+            }
+        }
+        return region;
+    }
+
+    private static int lowestInRegion(SlidingPuzzle puzzle, long occupied, int blank) {
+        return Long.numberOfTrailingZeros(region(puzzle, occupied, blank));
+    }
+
+    static long permutations(int n, int k) {
+        long p = 1;
+        for (int i = 0; i < k; i++) {
+            p *= n - i;
+        }
+        return p;
+    }
+
+    // Index of the k-tuple (positions[tiles[0]], ..., positions[tiles[k-1]]) among all P(cells, k) tuples.
+    static long rank(int[] tiles, int[] positions, int cells) {
+        long rank = 0;
+        long used = 0;
+        for (int i = 0; i < tiles.length; i++) {
+            int p = positions[tiles[i]];
+            int digit = p - Long.bitCount(used & ((1L << p) - 1));
+            rank = rank * (cells - i) + digit;
+            used |= 1L << p;
+        }
+        return rank;
+    }
+
+    static void unrank(int[] tiles, long rank, int cells, int[] positions) {
+        int k = tiles.length;
+        int[] digits = new int[k];
+        for (int i = k - 1; i >= 0; i--) {
+            digits[i] = (int) (rank % (cells - i));
+            rank /= cells - i;
+        }
+        long used = 0;
+        for (int i = 0; i < k; i++) {
+            int d = digits[i];
+            int p = 0;
+            while (true) {
+                if ((used & (1L << p)) == 0) {
+                    if (d == 0) break;
+                    d--;
+                }
+                p++;
+            }
+            used |= 1L << p;
+            positions[tiles[i]] = p;
+        }
+    }
+
+    public void save(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(puzzle.width);
+            for (int tile : goal) {
+                out.writeInt(tile);
+            }
+            out.writeInt(groups.length);
+            for (int g = 0; g < groups.length; g++) {
+                out.writeInt(groups[g].length);
+                for (int tile : groups[g]) {
+                    out.writeInt(tile);
+                }
+                out.writeInt(tables[g].capacity());
+            }
+            for (ByteBuffer table : tables) {
+                ByteBuffer t = table.duplicate();
+                t.clear();
+                byte[] chunk = new byte[1 << 16];
+                while (t.hasRemaining()) {
+                    int n = Math.min(chunk.length, t.remaining());
+                    t.get(chunk, 0, n);
+                    out.write(chunk, 0, n);
+                }
+            }
+        }
+    }
+
+    // Maps the file read-only; lookups read straight from the page cache, nothing is copied.
+    public static PatternDatabase load(Path file) throws IOException {
+        MappedByteBuffer buf;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+        }
+        if (buf.getInt() != MAGIC) {
+            throw new IOException(file + " is not a pattern database");
+        }
+        SlidingPuzzle puzzle = new SlidingPuzzle(buf.getInt());
+        int[] goal = new int[puzzle.cells];
+        for (int i = 0; i < goal.length; i++) {
+            goal[i] = buf.getInt();
+        }
+        int[][] groups = new int[buf.getInt()][];
+        int[] lengths = new int[groups.length];
+        for (int g = 0; g < groups.length; g++) {
+            groups[g] = new int[buf.getInt()];
+            for (int i = 0; i < groups[g].length; i++) {
+                groups[g][i] = buf.getInt();
+            }
+            lengths[g] = buf.getInt();
+        }
+        ByteBuffer[] tables = new ByteBuffer[groups.length];
+        int offset = buf.position();
+        for (int g = 0; g < groups.length; g++) {
+            if (lengths[g] != permutations(puzzle.cells, groups[g].length) || offset + lengths[g] > buf.capacity()) {
+                throw new IOException(file + " is truncated or corrupt");
+            }
+            tables[g] = buf.slice(offset, lengths[g]);
+            offset += lengths[g];
+        }
+        return new PatternDatabase(puzzle, goal, groups, tables);
+    }
+
+    static int[][] parseGroups(String text) {
+        String[] parts = text.split("\\|");
+        int[][] groups = new int[parts.length][];
+        for (int g = 0; g < parts.length; g++) {
+            String[] tiles = parts[g].trim().split("[\\s,]+");
+            groups[g] = new int[tiles.length];
+            for (int i = 0; i < tiles.length; i++) {
+                groups[g][i] = Integer.parseInt(tiles[i]);
+            }
+        }
+        return groups;
+    }
+
+    public static void main(String[] args) throws IOException {
+        // usage: PatternDatabase <width> "<group>|<group>|..." <file>
+        int width = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int[][] groups = args.length > 1 ? parseGroups(args[1])
+                : parseGroups("1,5,6,9,10,13|7,8,11,12,14,15|2,3,4");
+        Path file = Paths.get(args.length > 2 ? args[2] : "pdb-" + width + "x" + width + ".bin");
+        SlidingPuzzle puzzle = new SlidingPuzzle(width);
+
+        long t0 = System.nanoTime();
+        boolean existed = Files.exists(file);
+        PatternDatabase pdb = loadOrBuild(file, puzzle, puzzle.goal(), groups);
+        long ms = (System.nanoTime() - t0) / 1_000_000;
+        System.out.println((existed ? "Loaded " : "Built and saved ") + file + " in " + ms + " ms");
+        for (int g = 0; g < groups.length; g++) {
+            System.out.println("  group " + Arrays.toString(groups[g]) + ": " + pdb.tables[g].capacity() + " entries");
+        }
+    }
+}
+
+
+/*
+
+# Short problem statement
+
+Manhattan distance treats every tile as if it could move through the others. A **pattern database (PDB)** fixes that for a small set of tiles: it stores, for every placement of those tiles, the exact number of moves *of those tiles* needed to bring them home, with every other tile treated as indistinguishable. Using several **disjoint** groups (for example 6-6-3 for the 15-puzzle) and adding their values gives an admissible heuristic that is far stronger than Manhattan.
+
+---
+
+# Building a group (background BFS)
+
+* A placement of `k` pattern tiles is ranked into `0 .. P(cells, k) - 1` with a partial Lehmer code (`rank` / `unrank`), so a group's table is just a `byte[]` (5.7 MB for a 6-tile group of the 15-puzzle).
+* The search runs **backwards from the goal**. Moving the blank past non-pattern cells is free, so a BFS state is *(pattern placement, lowest cell of the blank's region)*. Moving a pattern tile into the blank costs 1 and goes to the next layer — this is a layered 0-1 BFS.
+* The first layer in which a placement appears is its table value.
+* `buildAsync` builds each group on its own pool thread and completes a `CompletableFuture` once all tables exist.
+
+---
+
+# Storage and loading
+
+* File layout: magic `PDB1`, width, goal, groups (tiles + table length), then the raw tables back to back.
+* `load` maps the file with `FileChannel.map(READ_ONLY)` and slices one `ByteBuffer` per group. Nothing is parsed or copied, so start-up costs only the header read; the OS pages tables in on first use and shares them between processes.
+* `loadOrBuild` reuses the file when it matches the requested width, goal and groups, and rebuilds + saves otherwise.
+
+---
+
+# Using it
+
+`newHeuristic()` returns a `Heuristic` for `IDAStar` that keeps `positions[tile]` up to date and, after each move, only re-ranks the group that contains the moved tile.
+
+*/
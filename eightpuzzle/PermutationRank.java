@@ -0,0 +1,74 @@
+package Eight_Puzzle;
+
+public final class PermutationRank {
+
+    // 9! boards; every packed board maps to a unique index in [0, STATES).
+    static final int STATES = 362880;
+
+    private static final int[] FACTORIAL = { 40320, 5040, 720, 120, 24, 6, 2, 1, 1 };
+
+    private PermutationRank() {
+    }
+
+    // Lehmer code: digit i counts the tiles after position i that are smaller than tile i.
+    static int rank(long state) {
+        int rank = 0;
+        int used = 0;
+        for (int i = 0; i < PackedBoard.SIZE; i++) {
+            int t = PackedBoard.tile(state, i);
+            int smallerUnused = t - Integer.bitCount(used & ((1 << t) - 1));
+            rank += smallerUnused * FACTORIAL[i];
+            used |= 1 << t;
+        }
+        return rank;
+    }
+
+    static long unrank(int rank) {
+        long state = 0;
+        int blank = 0;
+        int used = 0;
+        for (int i = 0; i < PackedBoard.SIZE; i++) {
+            int digit = rank / FACTORIAL[i];
+            rank %= FACTORIAL[i];
+            int t = 0;
+            // pick the (digit)-th smallest tile not used yet
+            while (true) {
+                if ((used & (1 << t)) == 0) {
+                    if (digit == 0) break;
+                    digit--;
+                }
+                t++;
+            }
+            used |= 1 << t;
+            if (t == 0) blank = i;
+            state |= (long) t << (i << 2);
+        }
+        return state | (long) blank << PackedBoard.BLANK_SHIFT;
+    }
+}
+
+
+/*
+
+# Short problem statement
+
+The 8-puzzle has only `9! = 362,880` boards, so instead of hashing we can give every board its own slot in a plain array. `PermutationRank` is that perfect hash: a bijection between boards and `0 .. 362879`.
+
+---
+
+# How it works (Lehmer code)
+
+For position `i`, count how many tiles that have **not been used yet** are smaller than the tile at `i`. That count is a digit in the factorial number system, weighted by `(8 - i)!`.
+
+* `used` is a 9-bit mask of tiles already seen, so "smaller and unused" is `t - bitCount(used & ((1 << t) - 1))` — no inner loop.
+* `unrank` reverses it: divide by the factorial weight to get the digit, then pick the digit-th smallest unused tile.
+
+---
+
+# Complexity
+
+* `rank`: `O(9)` with a popcount per tile, no allocation.
+* `unrank`: `O(9²)` worst case, only used off the hot path.
+* Any array indexed by rank (a `byte[362880]` for visited/parent or a distance table) is a collision-free, allocation-free map.
+
+*/
@@ -0,0 +1,143 @@
+package Eight_Puzzle;
+
+import java.util.*;
+
+public final class SlidingPuzzle {
+
+    static final SlidingPuzzle EIGHT = new SlidingPuzzle(3);
+
+    final int width;
+    final int cells;
+    // moves[pos] = cells the blank can move to from pos, in ascending order (up, left, right, down)
+    final int[][] moves;
+
+    public SlidingPuzzle(int width) {
+        if (width < 2 || width > 8) {
+            throw new IllegalArgumentException("Unsupported board width " + width);
+        }
+        this.width = width;
+        this.cells = width * width;
+        moves = new int[cells][];
+        for (int pos = 0; pos < cells; pos++) {
+            int r = row(pos), c = col(pos);
+            int[] next = new int[4];
+            int n = 0;
+            if (r > 0) next[n++] = pos - width;
+            if (c > 0) next[n++] = pos - 1;
+            if (c < width - 1) next[n++] = pos + 1;
+            if (r < width - 1) next[n++] = pos + width;
+            moves[pos] = Arrays.copyOf(next, n);
+        }
+    }
+
+    static SlidingPuzzle forCells(int cells) {
+        int width = (int) Math.round(Math.sqrt(cells));
+        if (width * width != cells) {
+            throw new IllegalArgumentException("Board must be square, got " + cells + " tiles");
+        }
+        return new SlidingPuzzle(width);
+    }
+
+    int row(int pos) {
+        return pos / width;
+    }
+
+    int col(int pos) {
+        return pos % width;
+    }
+
+    int distance(int a, int b) {
+        return Math.abs(row(a) - row(b)) + Math.abs(col(a) - col(b));
+    }
+
+    // 1, 2, ..., cells - 1 followed by the blank.
+    int[] goal() {
+        int[] goal = new int[cells];
+        for (int i = 0; i < cells - 1; i++) {
+            goal[i] = i + 1;
+        }
+        return goal;
+    }
+
+    // positions[tile] = index of that tile on the board.
+    int[] positions(int[] board) {
+        int[] pos = new int[cells];
+        for (int i = 0; i < cells; i++) {
+            pos[board[i]] = i;
+        }
+        return pos;
+    }
+
+    // manhattan[tile * cells + pos] = distance of tile at pos from its goal cell; 0 for the blank.
+    int[] manhattanTable(int[] goal) {
+        int[] goalPos = positions(goal);
+        int[] table = new int[cells * cells];
+        for (int tile = 1; tile < cells; tile++) {
+            for (int pos = 0; pos < cells; pos++) {
+                table[tile * cells + pos] = distance(pos, goalPos[tile]);
+            }
+        }
+        return table;
+    }
+
+    // Each move swaps the blank with a neighbour, flipping the permutation parity
+    // and the parity of the blank's distance from its goal cell at the same time.
+    boolean isSolvable(int[] start, int[] goal) {
+        int[] goalPos = positions(goal);
+        int inversions = 0;
+        for (int i = 0; i < cells; i++) {
+            for (int j = i + 1; j < cells; j++) {
+                if (goalPos[start[i]] > goalPos[start[j]]) inversions++;
+            }
+        }
+        int blankDistance = distance(positions(start)[0], goalPos[0]);
+        return (inversions & 1) == (blankDistance & 1);
+    }
+
+    void checkBoard(int[] board) {
+        if (board.length != cells) {
+            throw new IllegalArgumentException("Expected " + cells + " tiles, got " + board.length);
+        }
+        boolean[] seen = new boolean[cells];
+        for (int tile : board) {
+            if (tile < 0 || tile >= cells || seen[tile]) {
+                throw new IllegalArgumentException("Not a permutation of 0.." + (cells - 1) + ": " + Arrays.toString(board));
+            }
+            seen[tile] = true;
+        }
+    }
+
+    // Accepts "123405678" for 3x3 boards, or whitespace/comma separated tiles for any size.
+    static int[] parse(String text) {
+        String trimmed = text.trim();
+        String[] parts = trimmed.split("[\\s,]+");
+        if (parts.length == 1) {
+            parts = trimmed.split("");
+        }
+        int[] board = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            board[i] = Integer.parseInt(parts[i]);
+        }
+        return board;
+    }
+}
+
+
+/*
+
+# Short problem statement
+
+The original solvers hardcode the 3×3 board: a literal `moves` table and `i / 3`, `i % 3` in the heuristic. `SlidingPuzzle` holds the geometry for any `width × width` board (3×3 through 5×5 in practice) so the same code serves the 8-, 15- and 24-puzzle.
+
+---
+
+# What it provides
+
+* `moves[pos]`: the neighbour cells of every position, generated once from the width.
+* `row`, `col`, `distance`: board coordinates and Manhattan distance between two cells.
+* `goal()`: the standard goal `1 2 ... (cells-1) 0`.
+* `manhattanTable(goal)`: `table[tile * cells + pos]`, so a heuristic update is one array read.
+* `isSolvable(start, goal)`: inversion parity of the start relative to the goal must match the parity of the blank's distance to its goal cell. Works for odd and even widths and for any goal.
+* `parse`: `"123405678"` for 3×3, or `"1 2 3 ... 15 0"` for larger boards.
+
+*/
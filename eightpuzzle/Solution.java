@@ -0,0 +1,62 @@
+package Eight_Puzzle;
+
+public final class Solution {
+
+    final int width;
+    // blank position before the first move, then after every move
+    final int[] blankPath;
+    final long nodesExpanded;
+
+    Solution(int width, int[] blankPath, long nodesExpanded) {
+        this.width = width;
+        this.blankPath = blankPath;
+        this.nodesExpanded = nodesExpanded;
+    }
+
+    public int cost() {
+        return blankPath.length - 1;
+    }
+
+    public long nodesExpanded() {
+        return nodesExpanded;
+    }
+
+    // One letter per move, naming the direction the blank travels.
+    public String moveString() {
+        StringBuilder sb = new StringBuilder(cost());
+        for (int i = 1; i < blankPath.length; i++) {
+            sb.append(moveLetter(blankPath[i - 1], blankPath[i], width));
+        }
+        return sb.toString();
+    }
+
+    static char moveLetter(int from, int to, int width) {
+        int delta = to - from;
+        if (delta == -width) return 'U';
+        if (delta == width) return 'D';
+        if (delta == -1) return 'L';
+        return 'R';
+    }
+
+    @Override
+    public String toString() {
+        return moveString() + " (cost " + cost() + ", " + nodesExpanded + " nodes)";
+    }
+}
+
+
+/*
+
+# Short problem statement
+
+The newer solvers (`IDAStar` and friends) return their answer instead of printing it, so callers can print, compare, or batch the results. `Solution` is that answer.
+
+---
+
+# What it stores
+
+* `blankPath`: the blank's index on the board before the first move and after every move. Consecutive entries differ by `±1` (left/right) or `±width` (up/down), so this is enough to replay the whole solution on the start board.
+* `nodesExpanded`: how much work the search did, for comparing heuristics.
+* `moveString()`: the compact form, e.g. `"RDLU"` — each letter is the direction the **blank** moves.
+
+*/
@@ -0,0 +1,168 @@
+package Eight_Puzzle;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+
+public final class SolutionWriter {
+
+    public enum Format {
+        MOVES,   // "title: RDLU..." — one line per solution (default)
+        BINARY,  // width byte, cost as a big-endian short, then 2 bits per move
+        BOARDS;  // every intermediate 3×3 board, for debugging
+
+        // Case-insensitive, as given to -Deightpuzzle.output.
+        public static Format named(String name) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(name)) return format;
+            }
+            throw new IllegalArgumentException("Unknown output format '" + name + "', expected one of "
+                    + Arrays.toString(values()).toLowerCase());
+        }
+    }
+
+    // Shared stdout writer; choose the format with -Deightpuzzle.output=moves|binary|boards.
+    public static final SolutionWriter STDOUT = new SolutionWriter(System.out);
+
+    private final DataOutputStream out;
+    private Format format;      // null until first use for STDOUT, which reads the property then
+
+    public SolutionWriter(OutputStream out, Format format) {
+        this.out = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+        this.format = Objects.requireNonNull(format, "format");
+    }
+
+    private SolutionWriter(OutputStream out) {
+        this.out = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+    }
+
+    // A bad -Deightpuzzle.output fails here, with IllegalArgumentException, on the first write.
+    public Format format() {
+        if (format == null) {
+            format = Format.named(System.getProperty("eightpuzzle.output", "moves"));
+        }
+        return format;
+    }
+
+    public void setFormat(Format format) {
+        this.format = Objects.requireNonNull(format, "format");
+    }
+
+    // Move codes for the binary format, in the same order as the letters.
+    private static int moveCode(int from, int to, int width) {
+        switch (Solution.moveLetter(from, to, width)) {
+            case 'U': return 0;
+            case 'D': return 1;
+            case 'L': return 2;
+            default:  return 3;
+        }
+    }
+
+    // Solvers walk parent links from the goal back to the start; this puts them in play order.
+    static long[] reversed(long[] path, int length) {
+        long[] boards = new long[length];
+        for (int i = 0; i < length; i++) {
+            boards[i] = path[length - 1 - i];
+        }
+        return boards;
+    }
+
+    // boards[0] is the start and boards[boards.length - 1] the goal, all packed 3×3 boards.
+    public void write(String title, long[] boards) {
+        try {
+            switch (format()) {
+                case MOVES:
+                    out.write(title.getBytes(StandardCharsets.UTF_8));
+                    out.write(':');
+                    out.write(' ');
+                    for (int i = 1; i < boards.length; i++) {
+                        out.write(Solution.moveLetter(PackedBoard.blank(boards[i - 1]), PackedBoard.blank(boards[i]), 3));
+                    }
+                    out.write('\n');
+                    break;
+                case BINARY:
+                    int cost = boards.length - 1;
+                    out.writeByte(3);
+                    out.writeShort(cost);
+                    int packed = 0;
+                    for (int i = 1; i <= cost; i++) {
+                        packed = packed << 2 | moveCode(PackedBoard.blank(boards[i - 1]), PackedBoard.blank(boards[i]), 3);
+                        if (i % 4 == 0) {
+                            out.writeByte(packed);
+                            packed = 0;
+                        }
+                    }
+                    if (cost % 4 != 0) {
+                        out.writeByte(packed << 2 * (4 - cost % 4)); // pad the last byte with zero bits
+                    }
+                    break;
+                case BOARDS:
+                    writeLine(title + ":");
+                    for (long board : boards) {
+                        writeBoard(board);
+                    }
+                    break;
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Status text such as the cost. Binary output stays pure records, so it goes to stderr there.
+    public void info(String text) {
+        if (format() == Format.BINARY) {
+            System.err.println(text);
+            return;
+        }
+        try {
+            writeLine(text);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeLine(String text) throws IOException {
+        out.write(text.getBytes(StandardCharsets.UTF_8));
+        out.write('\n');
+    }
+
+    // Same layout the solvers always printed: a blank line, then three rows of "t t t ".
+    private void writeBoard(long board) throws IOException {
+        for (int i = 0; i < PackedBoard.SIZE; i++) {
+            if (i % 3 == 0) out.write('\n');
+            out.write('0' + PackedBoard.tile(board, i));
+            out.write(' ');
+        }
+        out.write('\n');
+        out.write('\n');
+    }
+}
+
+
+/*
+
+# Short problem statement
+
+Every solver used to print each board of its solution with one `System.out.print` per tile — about 30 unbuffered console writes per move. For long solutions and batch runs the printing cost more than the search. `SolutionWriter` is the one place solutions are written, through a 64 KB buffer that is flushed once per solution.
+
+---
+
+# Formats
+
+* `MOVES` (default): `Steps to solve (A* Search): RDDLUR...` — one letter per move, naming the direction the blank travels (the same letters as `Solution.moveString()`).
+* `BINARY`: per solution one byte for the board width, the cost as a big-endian `short`, then the moves at 2 bits each (`U=0 D=1 L=2 R=3`, first move in the high bits, last byte zero-padded). A 31-move solution takes 11 bytes. Status lines go to stderr so stdout holds nothing but records.
+* `BOARDS`: the old verbose rendering of every intermediate board, kept as an opt-in for debugging.
+
+Pick one with `-Deightpuzzle.output=moves|binary|boards`, or call `STDOUT.setFormat(...)`. `STDOUT` reads the property on its first write, not when the class loads, so a misspelt value is an `IllegalArgumentException` that lists the valid formats. The class itself stays usable, and `setFormat` can still pick a format.
+
+
+---
+
+# Input
+
+Solvers hand over the solution as an array of packed boards from start to goal; the moves are recovered from where the blank is in consecutive boards, so no solver has to track move letters itself.
+
+*/
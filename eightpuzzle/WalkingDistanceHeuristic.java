@@ -0,0 +1,185 @@
+package Eight_Puzzle;
+
+import java.util.*;
+
+final class WalkingDistanceHeuristic implements Heuristic {
+
+    // Tables depend only on the width and which line the blank ends in; share them.
+    private static final Map<String, LongLongMap> TABLES = new HashMap<>();
+
+    private final SlidingPuzzle puzzle;
+    private final int width;
+    private final int blankShift;
+    private final int[] goalRow;
+    private final int[] goalCol;
+    private final LongLongMap rowTable;
+    private final LongLongMap colTable;
+
+    private long rowKey, colKey;
+    private int rowDistance, colDistance;
+
+    // Undo record per depth: rowKey, colKey, rowDistance, colDistance
+    private long[] undo = new long[64 * 4];
+    private int depth;
+
+    WalkingDistanceHeuristic(SlidingPuzzle puzzle, int[] goal) {
+        if (puzzle.width > 4) {
+            throw new IllegalArgumentException("Walking distance tables are only built for boards up to 4x4");
+        }
+        this.puzzle = puzzle;
+        width = puzzle.width;
+        blankShift = 3 * width * width;
+        int[] goalPos = puzzle.positions(goal);
+        goalRow = new int[puzzle.cells];
+        goalCol = new int[puzzle.cells];
+        for (int tile = 0; tile < puzzle.cells; tile++) {
+            goalRow[tile] = puzzle.row(goalPos[tile]);
+            goalCol[tile] = puzzle.col(goalPos[tile]);
+        }
+        rowTable = table(goalRow, goalRow[0]);
+        colTable = table(goalCol, goalCol[0]);
+    }
+
+    @Override
+    public String name() {
+        return "walking-distance";
+    }
+
+    // Field (line, goalLine) counts the tiles in 'line' whose goal is in 'goalLine'; 3 bits each.
+    private int shift(int line, int goalLine) {
+        return 3 * (line * width + goalLine);
+    }
+
+    private long key(int[] board, boolean rows) {
+        long key = 0;
+        int blankLine = 0;
+        for (int pos = 0; pos < puzzle.cells; pos++) {
+            int tile = board[pos];
+            int line = rows ? puzzle.row(pos) : puzzle.col(pos);
+            if (tile == 0) {
+                blankLine = line;
+            } else {
+                key += 1L << shift(line, rows ? goalRow[tile] : goalCol[tile]);
+            }
+        }
+        return key | (long) blankLine << blankShift;
+    }
+
+    private LongLongMap table(int[] goalLine, int blankGoalLine) {
+        String id = width + ":" + blankGoalLine;
+        synchronized (TABLES) {
+            LongLongMap table = TABLES.get(id);
+            if (table == null) {
+                long start = 0;
+                for (int tile = 1; tile < puzzle.cells; tile++) {
+                    start += 1L << shift(goalLine[tile], goalLine[tile]);
+                }
+                table = build(start | (long) blankGoalLine << blankShift);
+                TABLES.put(id, table);
+            }
+            return table;
+        }
+    }
+
+    // BFS over line-count matrices: the blank's line swaps one tile with an adjacent line.
+    private LongLongMap build(long goalKey) {
+        LongLongMap distance = new LongLongMap(1 << 12);
+        long[] queue = new long[1 << 12];
+        int head = 0, tail = 0;
+        queue[tail++] = goalKey;
+        distance.put(goalKey, 0);
+        long fieldMask = (1L << blankShift) - 1;
+
+        while (head < tail) {
+            long key = queue[head++];
+            int d = (int) distance.get(key, 0);
+            int blank = (int) (key >>> blankShift);
+            for (int next = blank - 1; next <= blank + 1; next += 2) {
+                if (next < 0 || next >= width) continue;
+                for (int g = 0; g < width; g++) {
+                    if (((key >>> shift(next, g)) & 7) == 0) continue;
+                    long moved = (key & fieldMask) - (1L << shift(next, g)) + (1L << shift(blank, g));
+                    moved |= (long) next << blankShift;
+                    if (!distance.containsKey(moved)) {
+                        distance.put(moved, d + 1);
+                        if (tail == queue.length) {
+                            queue = Arrays.copyOf(queue, tail << 1);
+                        }
+                        queue[tail++] = moved;
+                    }
+                }
+            }
+        }
+        return distance;
+    }
+
+    @Override
+    public int estimate(int[] board) {
+        rowKey = key(board, true);
+        colKey = key(board, false);
+        rowDistance = (int) rowTable.get(rowKey, 0);
+        colDistance = (int) colTable.get(colKey, 0);
+        depth = 0;
+        return rowDistance + colDistance;
+    }
+
+    @Override
+    public int move(int[] board, int tile, int from, int to) {
+        int base = depth * 4;
+        if (base + 4 > undo.length) {
+            undo = Arrays.copyOf(undo, undo.length << 1);
+        }
+        undo[base] = rowKey;
+        undo[base + 1] = colKey;
+        undo[base + 2] = rowDistance;
+        undo[base + 3] = colDistance;
+        depth++;
+
+        // A vertical move only changes the row matrix, a horizontal one only the column matrix.
+        long fieldMask = (1L << blankShift) - 1;
+        int fromRow = puzzle.row(from), toRow = puzzle.row(to);
+        if (fromRow != toRow) {
+            rowKey = (rowKey & fieldMask) - (1L << shift(fromRow, goalRow[tile])) + (1L << shift(toRow, goalRow[tile]));
+            rowKey |= (long) fromRow << blankShift;
+            rowDistance = (int) rowTable.get(rowKey, 0);
+        } else {
+            int fromCol = puzzle.col(from), toCol = puzzle.col(to);
+            colKey = (colKey & fieldMask) - (1L << shift(fromCol, goalCol[tile])) + (1L << shift(toCol, goalCol[tile]));
+            colKey |= (long) fromCol << blankShift;
+            colDistance = (int) colTable.get(colKey, 0);
+        }
+        return rowDistance + colDistance;
+    }
+
+    @Override
+    public void undo() {
+        int base = --depth * 4;
+        rowKey = undo[base];
+        colKey = undo[base + 1];
+        rowDistance = (int) undo[base + 2];
+        colDistance = (int) undo[base + 3];
+    }
+}
+
+
+/*
+
+# Short problem statement
+
+**Walking distance** (Ken'ichiro Takahashi) looks at rows and columns separately. For rows, forget everything about a tile except which row it is in and which row it belongs to: the board becomes a `width × width` matrix of counts plus the blank's row. The fewest vertical moves that turn that matrix into the goal matrix is a lower bound on the real vertical moves; the same for columns. Their sum is admissible and usually much stronger than Manhattan, because it accounts for tiles blocking each other inside a row.
+
+---
+
+# How it works
+
+* A matrix is packed into a `long`: 3 bits per `(line, goalLine)` count and the blank's line on top. That fits boards up to 4×4.
+* `build` runs a BFS from the goal matrix. One abstract move takes a tile from a line adjacent to the blank's line into the blank's line. The 15-puzzle has 24,964 such matrices, stored in a `LongLongMap`.
+* Tables depend only on the width and the goal line of the blank, so they are built once and shared.
+
+---
+
+# Incremental update
+
+A vertical move changes one count in the row matrix (tile leaves `row(from)`, enters `row(to)`, blank goes to `row(from)`), which is two additions on the packed key and one table lookup; the column matrix does not change. Horizontal moves are the mirror image. The previous keys and distances are saved per depth for `undo()`.
+
+*/
@@ -0,0 +1,83 @@
+package Maze;
+
+public final class BitGrid implements Grid {
+
+    private final int rows;
+    private final int cols;
+    private final long[] bits;   // bit set = blocked
+    private long modifications;
+
+    public BitGrid(int rows, int cols) {
+        if (rows < 1 || cols < 1 || (long) rows * cols > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Bad grid size " + rows + "x" + cols);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        bits = new long[(int) (((long) rows * cols + 63) >>> 6)];
+    }
+
+    // 0 = open, anything else = blocked, as in the original int[][] mazes.
+    public static BitGrid of(int[][] maze) {
+        BitGrid grid = new BitGrid(maze.length, maze[0].length);
+        grid.load(maze);
+        return grid;
+    }
+
+    // Overwrites every cell from a maze of the same size; only cells that differ count as edits.
+    void load(int[][] maze) {
+        if (maze.length != rows || maze[0].length != cols) {
+            throw new IllegalArgumentException("Maze is " + maze.length + "x" + maze[0].length + ", grid is "
+                    + rows + "x" + cols);
+        }
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                setBlocked(r, c, maze[r][c] != 0);
+            }
+        }
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int cols() {
+        return cols;
+    }
+
+    @Override
+    public boolean isBlocked(int cell) {
+        return (bits[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    public void setBlocked(int row, int col, boolean blocked) {
+        int cell = row * cols + col;
+        if (isBlocked(cell) == blocked) return;
+        bits[cell >>> 6] ^= 1L << cell;
+        modifications++;
+    }
+
+    @Override
+    public long modifications() {
+        return modifications;
+    }
+}
+
+
+/*
+
+# Short problem statement
+
+A `10,000 × 10,000` maze as `int[][]` is 400 MB before any search starts. `BitGrid` stores the same maze in one bit per cell — 12.5 MB — in a flat `long[]`.
+
+---
+
+# How it works
+
+* Cell `i` is bit `i & 63` of `bits[i >>> 6]`; a set bit means blocked. `1L << cell` uses only the low 6 bits of `cell`, so no explicit mask is needed.
+* `BitGrid.of(int[][])` converts the old array mazes (0 = open, 1 = wall).
+* `setBlocked` flips single cells for callers that edit the map between queries. Each change that actually flips a bit bumps `modifications()`, so cached flow fields over the grid are rebuilt rather than served stale.
+
+
+*/
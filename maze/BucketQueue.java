@@ -0,0 +1,143 @@
+package Maze;
+
+import java.util.*;
+
+public final class BucketQueue {
+
+    // All items with one f, in LIFO stacks indexed by h = f - g (smallest h = largest g first).
+    private static final class Bucket {
+        int[][] stacks = new int[8][];
+        int[] sizes = new int[8];
+        int count;
+        int minH = Integer.MAX_VALUE;
+    }
+
+    // Ring of buckets covering f in [base, base + ring.length); grows if f spreads wider.
+    private Bucket[] ring = new Bucket[4];
+    private int base;
+    private int maxF;
+    private int size;
+
+    private int poppedF;
+    private int poppedG;
+
+    public BucketQueue() {
+        for (int i = 0; i < ring.length; i++) ring[i] = new Bucket();
+    }
+
+    public void push(int item, int f, int g) {
+        int h = f - g;
+        if (g < 0 || h < 0) {
+            throw new IllegalArgumentException("Need 0 <= g <= f, got f=" + f + " g=" + g);
+        }
+        if (size == 0) {
+            base = f;
+            maxF = f;
+        } else if (f < base || f > maxF) {
+            // An inconsistent heuristic can push below the current minimum; that is allowed.
+            int low = Math.min(base, f), high = Math.max(maxF, f);
+            if (high - low >= ring.length) grow(high - low + 1);
+            base = low;
+            maxF = high;
+        }
+
+        Bucket bucket = ring[Math.floorMod(f, ring.length)];
+        if (h >= bucket.stacks.length) {
+            int length = Math.max(h + 1, bucket.stacks.length << 1);
+            bucket.stacks = Arrays.copyOf(bucket.stacks, length);
+            bucket.sizes = Arrays.copyOf(bucket.sizes, length);
+        }
+        int[] stack = bucket.stacks[h];
+        int n = bucket.sizes[h];
+        if (stack == null) {
+            stack = bucket.stacks[h] = new int[16];
+        } else if (n == stack.length) {
+            stack = bucket.stacks[h] = Arrays.copyOf(stack, n << 1);
+        }
+        stack[n] = item;
+        bucket.sizes[h] = n + 1;
+        bucket.count++;
+        if (h < bucket.minH) bucket.minH = h;
+        size++;
+    }
+
+    // Re-spreads the live buckets over a ring of at least 'span' slots, reusing the buckets.
+    private void grow(int span) {
+        int length = ring.length;
+        while (length < span) length <<= 1;
+        Bucket[] grown = new Bucket[length];
+        for (int f = base; f < base + ring.length; f++) {
+            grown[Math.floorMod(f, length)] = ring[Math.floorMod(f, ring.length)];
+        }
+        for (int i = 0; i < length; i++) {
+            if (grown[i] == null) grown[i] = new Bucket();
+        }
+        ring = grown;
+    }
+
+    // Call only when not empty; poppedF() and poppedG() then describe the item returned.
+    public int pop() {
+        Bucket bucket = ring[Math.floorMod(base, ring.length)];
+        while (bucket.count == 0) {
+            base++;
+            bucket = ring[Math.floorMod(base, ring.length)];
+        }
+        int h = bucket.minH;
+        while (bucket.sizes[h] == 0) h++;
+        int item = bucket.stacks[h][--bucket.sizes[h]];
+        bucket.minH = --bucket.count == 0 ? Integer.MAX_VALUE : h;
+        size--;
+
+        poppedF = base;
+        poppedG = base - h;
+        return item;
+    }
+
+    public int poppedF() {
+        return poppedF;
+    }
+
+    public int poppedG() {
+        return poppedG;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Empties the queue but keeps every stack for reuse.
+    public void clear() {
+        if (size > 0) {
+            for (Bucket bucket : ring) {
+                Arrays.fill(bucket.sizes, 0);
+                bucket.count = 0;
+                bucket.minH = Integer.MAX_VALUE;
+            }
+        }
+        size = 0;
+    }
+}
+
+
+/*
+
+# Short problem statement
+
+Every A\* here keys its frontier by `f = g + h`, and `f` is a small integer: a path length on a grid, a move count in a puzzle. A binary heap (or a `PriorityQueue` with a comparator lambda) spends `O(log n)` comparisons per operation, and the lambda recomputes `f` on every sift. A **bucket queue** indexes the frontier by `f` directly, so push and pop are constant time.
+
+---
+
+# How it works
+
+* **Two levels.** The first level is one bucket per `f`. Inside a bucket, items sit in LIFO stacks indexed by `h = f - g`. `pop` takes the lowest non-empty `f`, then the lowest non-empty `h` in it, which is the **largest `g`**. Preferring deeper nodes among equal `f` is the standard A\* tie-break: the goal is found after far fewer expansions on the last `f`-layer.
+* **Ring.** With a consistent heuristic and unit costs, the queued `f` values stay within a narrow window above the minimum (two or three values on a grid). The buckets form a ring indexed by `f mod length`, so memory tracks that window and not the largest `f` ever seen. If the spread grows, for example with an inconsistent heuristic or long jumps in JPS, the ring doubles and the existing buckets are reused.
+* **Cursors.** `base` only moves forward while popping. A push below it (possible with inconsistent heuristics) moves it back, so results stay correct. Inside a bucket, `minH` is lowered by pushes and scanned forward by pops.
+* **No boxing, no comparator.** Items are plain `int`s (cell indices, board ranks, encoded states). `poppedF()`/`poppedG()` give the priority of the last pop, so callers do not need to store it alongside the item. `clear()` keeps all stacks, so a reused queue stops allocating after warm-up.
+
+Each search package carries its own copy of this class, as with the other per-package helpers.
+
+*/
@@ -0,0 +1,340 @@
+package Maze;
+
+import java.util.*;
+
+public class DStarLite {
+
+    private static final int INF = Integer.MAX_VALUE / 4;
+
+    private final BitGrid grid;
+    private final int rows;
+    private final int cols;
+    private final int goal;
+    private int start;
+    private int last;      // start when km was last updated
+    private int km;        // heuristic offset accumulated as the start moves
+
+    // Distances to the goal: g is what was last settled, rhs the one-step lookahead.
+    private final int[] g;
+    private final int[] rhs;
+
+    // Indexed min-heap of inconsistent cells, keyed (k1 << 32 | k2).
+    private int[] heap = new int[1024];
+    private long[] keys = new long[1024];
+    private final int[] position;     // heap slot of each cell, -1 if not queued
+    private int heapSize;
+
+    private int expanded;
+
+    public DStarLite(BitGrid grid, int startRow, int startCol, int goalRow, int goalCol) {
+        this.grid = grid;
+        rows = grid.rows();
+        cols = grid.cols();
+        start = startRow * cols + startCol;
+        last = start;
+        goal = goalRow * cols + goalCol;
+        g = new int[grid.cells()];
+        rhs = new int[grid.cells()];
+        position = new int[grid.cells()];
+        Arrays.fill(g, INF);
+        Arrays.fill(rhs, INF);
+        Arrays.fill(position, -1);
+
+        rhs[goal] = 0;
+        insert(goal, key(goal));
+    }
+
+    public int start() {
+        return start;
+    }
+
+    // Cells expanded by the last plan().
+    public int expanded() {
+        return expanded;
+    }
+
+    private int h(int a, int b) {
+        return Math.abs(a / cols - b / cols) + Math.abs(a % cols - b % cols);
+    }
+
+    private long key(int s) {
+        int m = Math.min(g[s], rhs[s]);
+        return (long) (m >= INF ? INF : m + h(start, s) + km) << 32 | m;
+    }
+
+    private boolean open(int cell) {
+        return !grid.isBlocked(cell);
+    }
+
+    // Neighbour of 'cell' in direction 'dir', or -1 at the edge of the grid.
+    private int neighbour(int cell, int dir) {
+        int r = cell / cols + GridSearch.DR[dir], c = cell % cols + GridSearch.DC[dir];
+        return r < 0 || c < 0 || r >= rows || c >= cols ? -1 : r * cols + c;
+    }
+
+    // Unit cost between adjacent open cells; blocked cells cut every edge they touch.
+    private int cost(int a, int b) {
+        return open(a) && open(b) ? 1 : INF;
+    }
+
+    private void recompute(int s) {
+        if (s != goal) {
+            int best = INF;
+            for (int dir = 0; dir < 4; dir++) {
+                int n = neighbour(s, dir);
+                if (n < 0) continue;
+                int c = cost(s, n);
+                if (c < INF && g[n] < INF) best = Math.min(best, c + g[n]);
+            }
+            rhs[s] = best;
+        }
+        updateVertex(s);
+    }
+
+    private void updateVertex(int s) {
+        boolean queued = position[s] >= 0;
+        if (g[s] != rhs[s]) {
+            if (queued) {
+                update(s, key(s));
+            } else {
+                insert(s, key(s));
+            }
+        } else if (queued) {
+            remove(s);
+        }
+    }
+
+    /*
+     * Brings g up to date for everything the path from the current start depends on.
+     * Returns the cells of a shortest path from the start to the goal, or null.
+     */
+    public int[] plan() {
+        expanded = 0;
+        while (heapSize > 0 && (keys[0] < key(start) || rhs[start] != g[start])) {
+            int u = heap[0];
+            long oldKey = keys[0];
+            long newKey = key(u);
+            if (oldKey < newKey) {
+                update(u, newKey);
+            } else if (g[u] > rhs[u]) {
+                g[u] = rhs[u];
+                remove(u);
+                expanded++;
+                for (int dir = 0; dir < 4; dir++) {
+                    int s = neighbour(u, dir);
+                    if (s < 0 || s == goal || cost(s, u) >= INF) continue;
+                    if (1 + g[u] < rhs[s]) {
+                        rhs[s] = 1 + g[u];
+                        updateVertex(s);
+                    }
+                }
+            } else {
+                int oldG = g[u];
+                g[u] = INF;
+                expanded++;
+                for (int dir = 0; dir < 4; dir++) {
+                    int s = neighbour(u, dir);
+                    if (s >= 0 && rhs[s] == cost(s, u) + oldG) recompute(s);
+                }
+                recompute(u);
+            }
+        }
+        return path();
+    }
+
+    private int[] path() {
+        if (g[start] >= INF) return null;
+        int[] path = new int[g[start] + 1];
+        int cell = start;
+        path[0] = cell;
+        for (int i = 1; i < path.length; i++) {
+            int best = -1, bestG = INF;
+            for (int dir = 0; dir < 4; dir++) {
+                int n = neighbour(cell, dir);
+                if (n >= 0 && cost(cell, n) < INF && g[n] < bestG) {
+                    best = n;
+                    bestG = g[n];
+                }
+            }
+            cell = best;
+            path[i] = cell;
+        }
+        return path;
+    }
+
+    // The agent has moved; keys already in the queue stay valid thanks to km.
+    public void moveTo(int row, int col) {
+        start = row * cols + col;
+        km += h(last, start);
+        last = start;
+    }
+
+    /*
+     * Changes one cell and repairs the lookahead values of it and its four neighbours. The
+     * next plan() only re-expands the part of the search those changes reach.
+     */
+    public void setBlocked(int row, int col, boolean blocked) {
+        int cell = row * cols + col;
+        if (grid.isBlocked(cell) == blocked) return;
+        grid.setBlocked(row, col, blocked);
+        recompute(cell);
+        for (int dir = 0; dir < 4; dir++) {
+            int n = neighbour(cell, dir);
+            if (n >= 0) recompute(n);
+        }
+    }
+
+    // ---- indexed heap ---------------------------------------------------------
+
+    private void insert(int s, long key) {
+        if (heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heapSize << 1);
+            keys = Arrays.copyOf(keys, heapSize << 1);
+        }
+        int i = heapSize++;
+        heap[i] = s;
+        keys[i] = key;
+        position[s] = i;
+        siftUp(i);
+    }
+
+    private void update(int s, long key) {
+        int i = position[s];
+        long old = keys[i];
+        keys[i] = key;
+        if (key < old) {
+            siftUp(i);
+        } else {
+            siftDown(i);
+        }
+    }
+
+    private void remove(int s) {
+        int i = position[s];
+        position[s] = -1;
+        heapSize--;
+        if (i == heapSize) return;
+        int moved = heap[heapSize];
+        heap[i] = moved;
+        keys[i] = keys[heapSize];
+        position[moved] = i;
+        siftUp(i);
+        siftDown(position[moved]);
+    }
+
+    private void siftUp(int i) {
+        int s = heap[i];
+        long k = keys[i];
+        while (i > 0) {
+            int p = (i - 1) >>> 1;
+            if (keys[p] <= k) break;
+            heap[i] = heap[p];
+            keys[i] = keys[p];
+            position[heap[i]] = i;
+            i = p;
+        }
+        heap[i] = s;
+        keys[i] = k;
+        position[s] = i;
+    }
+
+    private void siftDown(int i) {
+        int s = heap[i];
+        long k = keys[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) break;
+            if (child + 1 < heapSize && keys[child + 1] < keys[child]) child++;
+            if (k <= keys[child]) break;
+            heap[i] = heap[child];
+            keys[i] = keys[child];
+            position[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = s;
+        keys[i] = k;
+        position[s] = i;
+    }
+
+    public static void main(String[] args) {
+        // usage: DStarLite [size wall% seed] — a robot crosses the map while obstacles appear ahead of it
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int walls = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        Random random = new Random(args.length > 2 ? Long.parseLong(args[2]) : 2);
+
+        BitGrid grid = new BitGrid(n, n);
+        for (int r = 0; r < n; r++) {
+            for (int c = 0; c < n; c++) {
+                if (random.nextInt(100) < walls) grid.setBlocked(r, c, true);
+            }
+        }
+        grid.setBlocked(0, 0, false);
+        grid.setBlocked(n - 1, n - 1, false);
+
+        DStarLite planner = new DStarLite(grid, 0, 0, n - 1, n - 1);
+        GridSearch scratch = new GridSearch(grid);
+        long t0 = System.nanoTime();
+        int[] path = planner.plan();
+        System.out.printf("%dx%d, %d%% walls: initial plan %d steps, %,d expanded, %.2f ms%n", n, n, walls,
+                path == null ? -1 : path.length - 1, planner.expanded(), (System.nanoTime() - t0) / 1e6);
+
+        int steps = 0, replans = 0;
+        long incrementalNs = 0, scratchNs = 0, worstNs = 0;
+        while (path != null && path.length > 1) {
+            // Something shows up a few cells ahead of the robot now and then.
+            if (random.nextInt(4) == 0 && path.length > 6) {
+                int cell = path[2 + random.nextInt(4)];
+                if (cell != path[path.length - 1]) {
+                    planner.setBlocked(cell / n, cell % n, true);
+                }
+                long a = System.nanoTime();
+                path = planner.plan();
+                long b = System.nanoTime();
+                int start = planner.start();
+                int[] check = scratch.aStar(start / n, start % n, n - 1, n - 1);
+                long c = System.nanoTime();
+                if ((path == null) != (check == null) || (path != null && path.length != check.length)) {
+                    throw new IllegalStateException("Replanned cost differs from A*");
+                }
+                incrementalNs += b - a;
+                scratchNs += c - b;
+                worstNs = Math.max(worstNs, b - a);
+                replans++;
+                if (path == null) break;
+            }
+            planner.moveTo(path[1] / n, path[1] % n);
+            path = planner.plan();
+            steps++;
+        }
+        System.out.printf("%s after %d steps; %d replans: D* Lite %.3f ms avg (worst %.3f ms), A* from scratch %.3f ms avg%n",
+                path == null ? "Goal unreachable" : "Goal reached", steps, replans,
+                incrementalNs / 1e6 / Math.max(1, replans), worstNs / 1e6, scratchNs / 1e6 / Math.max(1, replans));
+    }
+}
+
+
+/*
+
+# Short problem statement
+
+A robot that discovers obstacles while driving has to replan many times. Running A\* from scratch each time repeats almost all of the previous search. **D\* Lite** (Koenig & Likhachev) keeps its search between calls and, after cells change, only repairs the part of the distance map that the changes actually affect.
+
+---
+
+# How it works
+
+* The search runs **backwards from the goal**, so the goal-distance values stay meaningful as the robot (the start) moves.
+* Each cell has `g` (settled distance to the goal) and `rhs` (one-step lookahead: `min over neighbours of 1 + g`). A cell is *inconsistent* when they differ; only inconsistent cells are queued.
+* Keys are `[min(g, rhs) + h(start, s) + km, min(g, rhs)]`, packed into one `long`. When the robot moves, `km` grows by the distance moved instead of re-keying the whole queue; stale keys are fixed lazily when they reach the top.
+* `plan()` processes the queue until the start is consistent and nothing queued could still improve it. An *overconsistent* cell (`g > rhs`) is settled; an *underconsistent* one (`g < rhs`, e.g. its path was just blocked) is reset to ∞ and its neighbours recomputed.
+* `setBlocked` changes the `BitGrid` and recomputes `rhs` for the cell and its four neighbours — the only edges that changed.
+* The queue is an indexed binary heap (`position[cell]`), so a cell's key can be changed or removed in `O(log n)`.
+* The path is read off by walking from the start to the neighbour with the smallest `g`.
+
+---
+
+# Cost
+
+About 12 bytes per cell (`g`, `rhs`, `position`) plus the bit grid. A replan after a nearby change typically touches a few hundred cells where A\* from scratch would re-expand most of the map; `main` measures both on the same run and checks that they agree on the cost.
+
+*/
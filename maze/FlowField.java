@@ -0,0 +1,254 @@
+package Maze;
+
+import java.util.*;
+
+public final class FlowField {
+
+    private final Grid grid;
+    private final int cols;
+    private final int goal;
+    private final int[] distance;   // steps to the goal, -1 if the goal cannot be reached
+    private final byte[] next;      // move (0..3) to take toward the goal, -1 at the goal or if unreachable
+    private final int reached;
+
+    /*
+     * Breadth-first search outwards from the goal. With unit costs the FIFO queue is a bucket
+     * queue with one bucket per distance, so every cell is settled the first time it is seen.
+     */
+    public FlowField(Grid grid, int goalRow, int goalCol) {
+        this.grid = grid;
+        int rows = grid.rows();
+        cols = grid.cols();
+        goal = goalRow * cols + goalCol;
+        distance = new int[grid.cells()];
+        next = new byte[grid.cells()];
+        Arrays.fill(distance, -1);
+        Arrays.fill(next, (byte) -1);
+
+        if (!grid.isOpen(goalRow, goalCol)) {
+            reached = 0;
+            return;
+        }
+        int[] queue = new int[1 << 10];
+        int head = 0, tail = 0, count = 1;
+        queue[tail++] = goal;
+        distance[goal] = 0;
+
+        while (head < tail) {
+            int cell = queue[head++];
+            int row = cell / cols, col = cell - row * cols;
+            int d = distance[cell] + 1;
+            for (int dir = 0; dir < 4; dir++) {
+                int nr = row + GridSearch.DR[dir], nc = col + GridSearch.DC[dir];
+                if (nr < 0 || nc < 0 || nr >= rows || nc >= cols) continue;
+                int n = nr * cols + nc;
+                if (distance[n] >= 0 || grid.isBlocked(n)) continue;
+                distance[n] = d;
+                next[n] = (byte) (dir ^ 1);     // the opposite move leads back to 'cell'
+                if (tail == queue.length) {
+                    // Compact before growing: the consumed prefix is dead.
+                    if (head > queue.length >>> 1) {
+                        System.arraycopy(queue, head, queue, 0, tail - head);
+                        tail -= head;
+                        head = 0;
+                    } else {
+                        queue = Arrays.copyOf(queue, queue.length << 1);
+                    }
+                }
+                queue[tail++] = n;
+                count++;
+            }
+        }
+        reached = count;
+    }
+
+    public Grid grid() {
+        return grid;
+    }
+
+    public int goal() {
+        return goal;
+    }
+
+    // Cells that can reach the goal, the goal included.
+    public int reached() {
+        return reached;
+    }
+
+    public int distance(int row, int col) {
+        return distance[row * cols + col];
+    }
+
+    // Move (0..3, as in GridSearch) to take from (row, col), or -1 at the goal or if unreachable.
+    public int direction(int row, int col) {
+        return next[row * cols + col];
+    }
+
+    // The cell one step closer to the goal, or -1 at the goal or if unreachable.
+    public int nextCell(int cell) {
+        int dir = next[cell];
+        return dir < 0 ? -1 : cell + GridSearch.DR[dir] * cols + GridSearch.DC[dir];
+    }
+
+    // A shortest path from (row, col) to the goal, or null if there is none.
+    public int[] path(int row, int col) {
+        int cell = row * cols + col;
+        if (distance[cell] < 0) return null;
+        int[] path = new int[distance[cell] + 1];
+        for (int i = 0; i < path.length; i++) {
+            path[i] = cell;
+            cell = nextCell(cell);
+        }
+        return path;
+    }
+
+    /*
+     * Least-recently-used fields by goal, all over one grid. A field costs 5 bytes per cell,
+     * so the capacity is what bounds memory. Editing the grid drops every cached field.
+     */
+    public static final class Cache {
+
+        private final Grid grid;
+        private final int capacity;
+        private final LinkedHashMap<Integer, FlowField> fields;
+        private long modifications;     // grid.modifications() when the cached fields were built
+        private long hits;
+        private long misses;
+
+        public Cache(Grid grid, int capacity) {
+            if (capacity < 1) {
+                throw new IllegalArgumentException("Cache capacity must be positive, got " + capacity);
+            }
+            this.grid = grid;
+            this.capacity = capacity;
+            modifications = grid.modifications();
+            fields = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, FlowField> eldest) {
+                    return size() > Cache.this.capacity;
+                }
+            };
+        }
+
+        public Grid grid() {
+            return grid;
+        }
+
+        public synchronized FlowField get(int goalRow, int goalCol) {
+            if (grid.modifications() != modifications) {
+                fields.clear();
+                modifications = grid.modifications();
+            }
+            Integer key = goalRow * grid.cols() + goalCol;
+            FlowField field = fields.get(key);
+            if (field != null) {
+                hits++;
+                return field;
+            }
+            misses++;
+            field = new FlowField(grid, goalRow, goalCol);
+            fields.put(key, field);
+            return field;
+        }
+
+        public synchronized void clear() {
+            fields.clear();
+        }
+
+        public synchronized long hits() {
+            return hits;
+        }
+
+        public synchronized long misses() {
+            return misses;
+        }
+    }
+
+    public static void main(String[] args) {
+        // usage: FlowField [size wall% agents seed] — a crowd walking to three shared goals
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int walls = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int agents = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+        Random random = new Random(args.length > 3 ? Long.parseLong(args[3]) : 1);
+
+        BitGrid grid = new BitGrid(n, n);
+        for (int r = 0; r < n; r++) {
+            for (int c = 0; c < n; c++) {
+                if (random.nextInt(100) < walls) grid.setBlocked(r, c, true);
+            }
+        }
+        int[][] goals = { { n / 2, n / 2 }, { 0, 0 }, { n - 1, n - 1 } };
+        for (int[] goal : goals) grid.setBlocked(goal[0], goal[1], false);
+
+        int[] position = new int[agents];
+        int[] target = new int[agents];
+        for (int i = 0; i < agents; i++) {
+            int cell;
+            do {
+                cell = random.nextInt(n * n);
+            } while (grid.isBlocked(cell));
+            position[i] = cell;
+            target[i] = random.nextInt(goals.length);
+        }
+
+        // One A* per agent.
+        GridSearch search = new GridSearch(grid);
+        long t0 = System.nanoTime();
+        long aStarSteps = 0;
+        for (int i = 0; i < agents; i++) {
+            int[] goal = goals[target[i]];
+            int[] path = search.aStar(position[i] / n, position[i] % n, goal[0], goal[1]);
+            if (path != null) aStarSteps += path.length - 1;
+        }
+        long aStarNs = System.nanoTime() - t0;
+
+        // One field per goal; each agent then just follows next steps.
+        Cache cache = new Cache(grid, goals.length);
+        t0 = System.nanoTime();
+        long fieldSteps = 0;
+        for (int i = 0; i < agents; i++) {
+            int[] goal = goals[target[i]];
+            FlowField field = cache.get(goal[0], goal[1]);
+            for (int cell = position[i]; field.distance[cell] > 0; cell = field.nextCell(cell)) {
+                fieldSteps++;
+            }
+        }
+        long fieldNs = System.nanoTime() - t0;
+
+        if (aStarSteps != fieldSteps) {
+            throw new IllegalStateException("Flow field paths differ from A*: " + fieldSteps + " vs " + aStarSteps);
+        }
+        System.out.printf("%dx%d, %d%% walls, %d agents, %d goals: %,d steps in total%n", n, n, walls, agents,
+                goals.length, aStarSteps);
+        System.out.printf("  A* per agent        %,8.1f ms%n", aStarNs / 1e6);
+        System.out.printf("  flow fields         %,8.1f ms  (%d fields built, %d reused)%n", fieldNs / 1e6,
+                cache.misses(), cache.hits());
+    }
+}
+
+
+/*
+
+# Short problem statement
+
+When hundreds of agents walk to the same place, running A\* once per agent repeats nearly the same search hundreds of times. A **flow field** does one search backwards from the goal over the whole map. Afterwards every agent, wherever it stands, reads its next step from an array in `O(1)`.
+
+---
+
+# How it works
+
+* A BFS starts at the goal. On a unit-cost grid the FIFO queue *is* a bucket queue: it holds at most two distances at a time, in order, so each cell's distance is final the moment the cell is first seen. No heap is needed.
+* When a cell is discovered from a neighbour through move `d`, stepping back is the opposite move `d ^ 1` (up↔down, left↔right, as numbered in `GridSearch`). That move is stored in `next` (1 byte per cell) next to `distance` (4 bytes per cell).
+* `nextCell`, `direction` and `distance` are array reads. `path(row, col)` follows `next` and gives a shortest path, with the same length A\* would find.
+* A `FlowField` is immutable once built, so any number of threads can read it.
+
+---
+
+# Cache
+
+`FlowField.Cache` keeps the fields of the most recently used goals in an access-ordered `LinkedHashMap` that evicts the eldest entry past `capacity`. `get` is synchronized and builds a missing field inside the lock, so two threads asking for the same new goal build it only once. Memory is `capacity × 5 bytes × cells` (about 5 MB per field for a `1000 × 1000` map). Each `get` compares `grid.modifications()` with the count seen when the cached fields were built, and drops them all if the grid has been edited since. `clear()` is only needed to free the memory.
+
+
+`AStarSearchMaze` exposes this as `Mode.FLOW_FIELD`. `main` here runs a crowd of agents toward three goals and compares it with one A\* per agent.
+
+*/
@@ -0,0 +1,42 @@
+package Maze;
+
+public interface Grid {
+
+    int rows();
+
+    int cols();
+
+    // Cells are numbered row * cols + col.
+    boolean isBlocked(int cell);
+
+    default int cells() {
+        return rows() * cols();
+    }
+
+    default boolean isOpen(int row, int col) {
+        return row >= 0 && col >= 0 && row < rows() && col < cols() && !isBlocked(row * cols() + col);
+    }
+
+    // Goes up with every edit; grids that cannot change stay at 0.
+    default long modifications() {
+        return 0;
+    }
+}
+
+
+/*
+
+# Short problem statement
+
+The maze programs used to take an `int[][]` directly — 4 bytes per cell plus an object header per row. `Grid` is the read-only view every search now works against, so the storage behind it can be a bitset on the heap (`BitGrid`) or anything else without touching the search code.
+
+---
+
+# Conventions
+
+* A cell is one `int`: `row * cols + col`. Searches keep their per-cell data in flat arrays indexed by it.
+* `isBlocked(cell)` does no bounds checking; callers check row/column bounds themselves (they already know them from the move they just made). `isOpen(row, col)` is the safe version.
+* `modifications()` counts edits. Anything that keeps data computed from a grid, such as `FlowField.Cache`, records the count and recomputes when it has moved.
+
+
+*/
@@ -0,0 +1,342 @@
+package Maze;
+
+import java.util.*;
+
+public final class GridSearch {
+
+    // Moves in the order the original mazes used: up, down, left, right.
+    static final int[] DR = { -1, 1, 0, 0 };
+    static final int[] DC = { 0, 0, -1, 1 };
+
+    private final Grid grid;
+    private final int rows;
+    private final int cols;
+
+    // Per-cell search state, valid only where stamp[cell] == generation.
+    private final int[] g;
+    private final int[] stamp;
+    private final byte[] parent;   // move (0..3) that entered the cell, or -1 at the start
+    private int generation;
+
+    // Open list: buckets by f, deepest first among equal f; reused by later queries.
+    private final BucketQueue open = new BucketQueue();
+
+    private int expanded;
+    private int pushes;
+
+    public GridSearch(Grid grid) {
+        this.grid = grid;
+        rows = grid.rows();
+        cols = grid.cols();
+        g = new int[grid.cells()];
+        stamp = new int[grid.cells()];
+        parent = new byte[grid.cells()];
+    }
+
+    public Grid grid() {
+        return grid;
+    }
+
+    // Cells expanded by the last query.
+    public int expanded() {
+        return expanded;
+    }
+
+    // Open-list insertions made by the last query.
+    public int pushes() {
+        return pushes;
+    }
+
+    // Starting a query is O(1): bumping the generation makes every old entry stale.
+    private void newQuery() {
+        if (++generation == 0) {
+            Arrays.fill(stamp, 0);
+            generation = 1;
+        }
+        open.clear();
+        expanded = 0;
+        pushes = 0;
+    }
+
+    private boolean seen(int cell) {
+        return stamp[cell] == generation;
+    }
+
+    /*
+     * A* with the Manhattan heuristic on the 4-connected grid. Returns the cells of a
+     * shortest path from start to goal (both included), or null if there is none.
+     */
+    public int[] aStar(int startRow, int startCol, int goalRow, int goalCol) {
+        int goal = run(startRow, startCol, goalRow, goalCol);
+        return goal < 0 ? null : path(goal);
+    }
+
+    // The same search, but only the cost: -1 if there is no path. Allocates nothing once warm.
+    public int distance(int startRow, int startCol, int goalRow, int goalCol) {
+        int goal = run(startRow, startCol, goalRow, goalCol);
+        return goal < 0 ? -1 : g[goal];
+    }
+
+    // Returns the goal cell once it is reached, or -1.
+    private int run(int startRow, int startCol, int goalRow, int goalCol) {
+        newQuery();
+        if (!grid.isOpen(startRow, startCol) || !grid.isOpen(goalRow, goalCol)) {
+            return -1;
+        }
+        int start = startRow * cols + startCol;
+        int goal = goalRow * cols + goalCol;
+
+        stamp[start] = generation;
+        g[start] = 0;
+        parent[start] = -1;
+        push(start, Math.abs(goalRow - startRow) + Math.abs(goalCol - startCol), 0);
+
+        while (!open.isEmpty()) {
+            int cell = open.pop();
+            int gCell = g[cell];
+            // A cheaper entry for this cell was pushed later and already handled.
+            if (open.poppedG() != gCell) continue;
+            int row = cell / cols, col = cell - row * cols;
+
+            if (cell == goal) {
+                return goal;
+            }
+            expanded++;
+
+            for (int dir = 0; dir < 4; dir++) {
+                int nr = row + DR[dir], nc = col + DC[dir];
+                if (nr < 0 || nc < 0 || nr >= rows || nc >= cols) continue;
+                int next = nr * cols + nc;
+                if (grid.isBlocked(next)) continue;
+
+                int tentative = gCell + 1;
+                if (!seen(next) || tentative < g[next]) {
+                    stamp[next] = generation;
+                    g[next] = tentative;
+                    parent[next] = (byte) dir;
+                    push(next, tentative + Math.abs(goalRow - nr) + Math.abs(goalCol - nc), tentative);
+                }
+            }
+        }
+        return -1;
+    }
+
+    /*
+     * Greedy best-first search: always expands the discovered cell nearest the goal by
+     * Manhattan distance and never reopens a cell. Usually expands far fewer cells than A*,
+     * but the path it returns need not be the shortest.
+     */
+    public int[] bestFirst(int startRow, int startCol, int goalRow, int goalCol) {
+        newQuery();
+        if (!grid.isOpen(startRow, startCol) || !grid.isOpen(goalRow, goalCol)) {
+            return null;
+        }
+        int start = startRow * cols + startCol;
+        int goal = goalRow * cols + goalCol;
+
+        stamp[start] = generation;
+        g[start] = 0;
+        parent[start] = -1;
+        int h0 = Math.abs(goalRow - startRow) + Math.abs(goalCol - startCol);
+        push(start, h0, h0);
+
+        while (!open.isEmpty()) {
+            int cell = open.pop();
+            if (cell == goal) {
+                return path(goal);
+            }
+            expanded++;
+
+            int row = cell / cols, col = cell - row * cols;
+            for (int dir = 0; dir < 4; dir++) {
+                int nr = row + DR[dir], nc = col + DC[dir];
+                if (nr < 0 || nc < 0 || nr >= rows || nc >= cols) continue;
+                int next = nr * cols + nc;
+                if (grid.isBlocked(next) || seen(next)) continue;
+
+                stamp[next] = generation;
+                g[next] = g[cell] + 1;      // length of the path found, not the best one
+                parent[next] = (byte) dir;
+                int h = Math.abs(goalRow - nr) + Math.abs(goalCol - nc);
+                push(next, h, h);     // ordered by h alone
+            }
+        }
+        return null;
+    }
+
+    // Walks the parent moves back from 'end'; g[end] tells the length up front.
+    int[] path(int end) {
+        int[] path = new int[g[end] + 1];
+        int cell = end;
+        for (int i = path.length - 1; i >= 0; i--) {
+            path[i] = cell;
+            int dir = parent[cell];
+            if (dir < 0) break;
+            cell -= DR[dir] * cols + DC[dir];
+        }
+        return path;
+    }
+
+    private boolean open(int row, int col) {
+        return row >= 0 && col >= 0 && row < rows && col < cols && !grid.isBlocked(row * cols + col);
+    }
+
+    /*
+     * Jump Point Search on the 4-connected grid: the same shortest paths as aStar(), but only
+     * jump points go through the open list. Straight runs with nothing to decide are scanned
+     * (or, with a JumpTable, skipped in one lookup). Returns every cell of the path.
+     */
+    public int[] jumpPointSearch(int startRow, int startCol, int goalRow, int goalCol, JumpTable table) {
+        newQuery();
+        if (!grid.isOpen(startRow, startCol) || !grid.isOpen(goalRow, goalCol)) {
+            return null;
+        }
+        if (table != null && table.grid() != grid) {
+            throw new IllegalArgumentException("Jump table was built for a different grid");
+        }
+        int start = startRow * cols + startCol;
+        int goal = goalRow * cols + goalCol;
+
+        stamp[start] = generation;
+        g[start] = 0;
+        parent[start] = -1;
+        push(start, Math.abs(goalRow - startRow) + Math.abs(goalCol - startCol), 0);
+
+        while (!open.isEmpty()) {
+            int cell = open.pop();
+            int gCell = g[cell];
+            if (open.poppedG() != gCell) continue;
+            int row = cell / cols, col = cell - row * cols;
+
+            if (cell == goal) {
+                return jumpPath(goal);
+            }
+            expanded++;
+
+            // Arriving horizontally: go on, or turn up/down. Arriving vertically: go on, or turn left/right.
+            int arrived = parent[cell];
+            for (int dir = 0; dir < 4; dir++) {
+                if (arrived >= 0 && dir != arrived && (dir < 2) == (arrived < 2)) continue;
+
+                int jump = table != null
+                        ? table.jump(row, col, dir, goalRow, goalCol)
+                        : (dir < 2 ? jumpVertical(row, col, DR[dir], goal) : jumpHorizontal(row, col, DC[dir], goal));
+                if (jump < 0) continue;
+
+                int jr = jump / cols, jc = jump - jr * cols;
+                int tentative = gCell + Math.abs(jr - row) + Math.abs(jc - col);
+                if (!seen(jump) || tentative < g[jump]) {
+                    stamp[jump] = generation;
+                    g[jump] = tentative;
+                    parent[jump] = (byte) dir;
+                    push(jump, tentative + Math.abs(goalRow - jr) + Math.abs(goalCol - jc), tentative);
+                }
+            }
+        }
+        return null;
+    }
+
+    // Moving sideways, stop where a wall above or below ends: a path may have to turn there.
+    private int jumpHorizontal(int row, int col, int dc, int goal) {
+        while (true) {
+            col += dc;
+            if (!open(row, col)) return -1;
+            int cell = row * cols + col;
+            if (cell == goal) return cell;
+            if ((open(row - 1, col) && !open(row - 1, col - dc)) || (open(row + 1, col) && !open(row + 1, col - dc))) {
+                return cell;
+            }
+        }
+    }
+
+    // Moving vertically, also stop wherever a sideways scan would find something.
+    private int jumpVertical(int row, int col, int dr, int goal) {
+        while (true) {
+            row += dr;
+            if (!open(row, col)) return -1;
+            int cell = row * cols + col;
+            if (cell == goal) return cell;
+            if ((open(row, col - 1) && !open(row - dr, col - 1)) || (open(row, col + 1) && !open(row - dr, col + 1))) {
+                return cell;
+            }
+            if (jumpHorizontal(row, col, 1, goal) >= 0 || jumpHorizontal(row, col, -1, goal) >= 0) {
+                return cell;
+            }
+        }
+    }
+
+    /*
+     * Jump points only store the direction they were entered from, so walk back along it one
+     * cell at a time until reaching a cell of this query whose g fits the distance walked.
+     * That is the parent jump point or another cell on an equally short path, either of
+     * which continues the path correctly.
+     */
+    private int[] jumpPath(int end) {
+        int[] path = new int[g[end] + 1];
+        int i = path.length - 1;
+        int cell = end;
+        path[i] = cell;
+        while (parent[cell] >= 0) {
+            int dir = parent[cell];
+            int delta = DR[dir] * cols + DC[dir];
+            int target = g[cell];
+            int steps = 0;
+            do {
+                cell -= delta;
+                steps++;
+                path[--i] = cell;
+            } while (!(seen(cell) && g[cell] + steps == target));
+        }
+        return path;
+    }
+
+    private void push(int cell, int f, int g) {
+        pushes++;
+        open.push(cell, f, g);
+    }
+}
+
+
+/*
+
+# Short problem statement
+
+`AStarSearchMaze` used to key `HashMap`s by `"r,c"` strings, allocating several objects per expanded cell and far more memory than the maze itself. `GridSearch` runs the same A\* with flat primitive arrays indexed by `row * cols + col`, so a `10,000 × 10,000` grid is searchable without a single allocation per node.
+
+---
+
+# Memory per cell
+
+| array | bytes |
+|---|---|
+| `BitGrid` bits | 0.125 |
+| `g` (`int[]`) | 4 |
+| `stamp` (`int[]`) | 4 |
+| `parent` (`byte[]`, the move that entered the cell) | 1 |
+| **total** | **≈ 9.1** |
+
+plus the open list, which only holds the frontier. The parent cell is recovered from the move, so it does not need a 4-byte index.
+
+---
+
+# Generation stamps
+
+Clearing `g` and `parent` before every query would cost `O(rows · cols)` even when the path is 10 cells long. Instead, `stamp[cell] == generation` says "this cell's `g` and `parent` belong to the current query"; starting a query just increments `generation`. Only when the counter wraps around (after 4 billion queries) is `stamp` cleared.
+
+---
+
+# Search details
+
+* The open list is a `BucketQueue`: cells in `int` stacks by `f`, and within one `f` by `h`. Pops take the smallest `f`, and among those the largest `g`. Push and pop are `O(1)`, with no comparator and no boxing. Preferring the deepest cell on the last `f`-layer is what keeps open floors cheap: the search runs straight at the goal instead of fanning out across every equally good cell.
+* No closed set is needed: Manhattan distance is consistent on a 4-connected unit-cost grid, so an entry is stale exactly when the `g` it was pushed with is no longer `g[cell]`. Stale entries are skipped on pop.
+* **Jump Point Search** (`jumpPointSearch`): on open floors most cells have nothing to decide — the path just keeps going straight. JPS scans straight runs without pushing anything, and only cells where the path might turn (jump points) enter the open list:
+  * moving sideways, stop at a cell where the wall above or below ends (the cell beside it can only be reached optimally by turning here), or at the goal;
+  * moving vertically, additionally stop where a sideways scan from that cell would find a jump point or the goal;
+  * a jump point reached sideways continues straight or turns up/down; one reached vertically continues straight or turns left/right.
+
+  Costs between jump points are the Manhattan distance of the straight segment, so the heuristic stays consistent and costs equal plain A\*. Only the entry direction is stored per jump point; the skipped cells are filled back in when the path is rebuilt.
+* **JPS+** (`JumpTable`): the scans above do not depend on the goal, so their results can be precomputed per cell and direction; a query then checks only whether the goal lies on the segment.
+* `bestFirst` is greedy best-first search on the same arrays: cells are ordered by `h` alone and marked as seen when pushed, so each is pushed once. It serves `BestFirstSearchMaze`.
+* One `GridSearch` is a reusable workspace for one thread. Create one per thread to run queries in parallel over the same grid (`ParallelMazeSolver` does this with a `ThreadLocal`). `distance` returns just the cost and, once the open list's stacks have grown, allocates nothing.
+
+*/
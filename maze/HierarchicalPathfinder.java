@@ -0,0 +1,573 @@
+package Maze;
+
+import java.util.*;
+
+public class HierarchicalPathfinder {
+
+    private final BitGrid grid;
+    private final int rows;
+    private final int cols;
+    private final int size;            // cluster side length
+    private final int clusterRows;
+    private final int clusterCols;
+    private final Cluster[] clusters;
+
+    // Transitions as (cell, cell) pairs: south[k] between cluster k and the one below it,
+    // east[k] between cluster k and the one to its right.
+    private final int[][] south;
+    private final int[][] east;
+    private final boolean[] dirtySouth;
+    private final boolean[] dirtyEast;
+    private final boolean[] dirtyCluster;
+    private boolean dirty = true;
+    private int rebuiltClusters;
+
+    // Abstract nodes, numbered cluster by cluster; rebuilt after every change.
+    private int nodeCount;
+    private int[] nodeCell = new int[0];
+    private int[] nodeCluster = new int[0];
+
+    // Scratch for searches inside one cluster.
+    private final int[] localDist;
+    private final int[] localQueue;
+    private final byte[] localMove;
+
+    // Scratch for the abstract search; two extra slots for the query's start and goal.
+    private int[] absG = new int[0];
+    private int[] absStamp = new int[0];
+    private int[] absParent = new int[0];
+    private int absGeneration;
+    private long[] heap = new long[256];
+    private int heapSize;
+    private int expanded;
+
+    private static final class Cluster {
+        final int row0, col0, height, width;
+        int[] nodes = new int[0];    // entrance cells, ascending
+        int[] dist = new int[0];     // dist[i * n + j] inside the cluster, -1 if not connected
+        int[][] exits = new int[0][];  // cells across the border, one step from nodes[i]
+        int offset;                  // global id of nodes[0]
+
+        Cluster(int row0, int col0, int height, int width) {
+            this.row0 = row0;
+            this.col0 = col0;
+            this.height = height;
+            this.width = width;
+        }
+
+        boolean contains(int row, int col) {
+            return row >= row0 && col >= col0 && row < row0 + height && col < col0 + width;
+        }
+    }
+
+    public HierarchicalPathfinder(BitGrid grid, int clusterSize) {
+        if (clusterSize < 2 || clusterSize > 128) {
+            throw new IllegalArgumentException("Cluster size must be between 2 and 128");
+        }
+        this.grid = grid;
+        rows = grid.rows();
+        cols = grid.cols();
+        size = clusterSize;
+        clusterRows = (rows + size - 1) / size;
+        clusterCols = (cols + size - 1) / size;
+        int n = clusterRows * clusterCols;
+        clusters = new Cluster[n];
+        for (int cr = 0; cr < clusterRows; cr++) {
+            for (int cc = 0; cc < clusterCols; cc++) {
+                int r0 = cr * size, c0 = cc * size;
+                clusters[cr * clusterCols + cc] = new Cluster(r0, c0, Math.min(size, rows - r0), Math.min(size, cols - c0));
+            }
+        }
+        south = new int[n][];
+        east = new int[n][];
+        dirtySouth = new boolean[n];
+        dirtyEast = new boolean[n];
+        dirtyCluster = new boolean[n];
+        Arrays.fill(dirtySouth, true);
+        Arrays.fill(dirtyEast, true);
+        Arrays.fill(dirtyCluster, true);
+        localDist = new int[size * size];
+        localQueue = new int[size * size];
+        localMove = new byte[size * size];
+    }
+
+    public Grid grid() {
+        return grid;
+    }
+
+    private int clusterOf(int row, int col) {
+        return (row / size) * clusterCols + col / size;
+    }
+
+    private boolean open(int row, int col) {
+        return row >= 0 && col >= 0 && row < rows && col < cols && !grid.isBlocked(row * cols + col);
+    }
+
+    /*
+     * Changes one cell. Only its own cluster is rebuilt — plus the neighbouring cluster when
+     * the cell lies on their shared border, because the entrances there may change.
+     */
+    public void setBlocked(int row, int col, boolean blocked) {
+        grid.setBlocked(row, col, blocked);
+        int k = clusterOf(row, col);
+        Cluster cl = clusters[k];
+        dirtyCluster[k] = true;
+        if (row == cl.row0 + cl.height - 1 && row + 1 < rows) {
+            dirtySouth[k] = true;
+            dirtyCluster[k + clusterCols] = true;
+        }
+        if (row == cl.row0 && row > 0) {
+            dirtySouth[k - clusterCols] = true;
+            dirtyCluster[k - clusterCols] = true;
+        }
+        if (col == cl.col0 + cl.width - 1 && col + 1 < cols) {
+            dirtyEast[k] = true;
+            dirtyCluster[k + 1] = true;
+        }
+        if (col == cl.col0 && col > 0) {
+            dirtyEast[k - 1] = true;
+            dirtyCluster[k - 1] = true;
+        }
+        dirty = true;
+    }
+
+    // Clusters rebuilt by the last update (all of them the first time).
+    public int rebuiltClusters() {
+        return rebuiltClusters;
+    }
+
+    public int abstractNodes() {
+        update();
+        return nodeCount;
+    }
+
+    // Nodes expanded by the last abstract search.
+    public int expanded() {
+        return expanded;
+    }
+
+    // ---- building the abstraction ---------------------------------------------
+
+    private void update() {
+        if (!dirty) return;
+        for (int k = 0; k < clusters.length; k++) {
+            int cr = k / clusterCols, cc = k % clusterCols;
+            if (dirtySouth[k]) {
+                south[k] = cr + 1 < clusterRows ? transitions(clusters[k], true) : new int[0];
+                dirtySouth[k] = false;
+            }
+            if (dirtyEast[k]) {
+                east[k] = cc + 1 < clusterCols ? transitions(clusters[k], false) : new int[0];
+                dirtyEast[k] = false;
+            }
+        }
+        rebuiltClusters = 0;
+        for (int k = 0; k < clusters.length; k++) {
+            if (dirtyCluster[k]) {
+                rebuild(k);
+                dirtyCluster[k] = false;
+                rebuiltClusters++;
+            }
+        }
+
+        nodeCount = 0;
+        for (Cluster cl : clusters) {
+            cl.offset = nodeCount;
+            nodeCount += cl.nodes.length;
+        }
+        if (nodeCell.length < nodeCount) {
+            nodeCell = new int[nodeCount];
+            nodeCluster = new int[nodeCount];
+        }
+        for (int k = 0; k < clusters.length; k++) {
+            Cluster cl = clusters[k];
+            for (int i = 0; i < cl.nodes.length; i++) {
+                nodeCell[cl.offset + i] = cl.nodes[i];
+                nodeCluster[cl.offset + i] = k;
+            }
+        }
+        if (absG.length < nodeCount + 2) {
+            absG = new int[nodeCount + 2];
+            absStamp = new int[nodeCount + 2];
+            absParent = new int[nodeCount + 2];
+            absGeneration = 0;
+        }
+        dirty = false;
+    }
+
+    /*
+     * Entrances on the border below (or right of) a cluster: maximal runs of cells open on
+     * both sides. Short runs get one transition in the middle, long ones one at each end.
+     */
+    private int[] transitions(Cluster cl, boolean below) {
+        int[] pairs = new int[8];
+        int n = 0;
+        int length = below ? cl.width : cl.height;
+        int runStart = -1;
+        for (int i = 0; i <= length; i++) {
+            int r = below ? cl.row0 + cl.height - 1 : cl.row0 + i;
+            int c = below ? cl.col0 + i : cl.col0 + cl.width - 1;
+            boolean both = i < length && open(r, c) && (below ? open(r + 1, c) : open(r, c + 1));
+            if (both && runStart < 0) runStart = i;
+            if (!both && runStart >= 0) {
+                int end = i - 1;
+                int[] picks = end - runStart + 1 < 6 ? new int[] { (runStart + end) / 2 } : new int[] { runStart, end };
+                for (int p : picks) {
+                    int pr = below ? cl.row0 + cl.height - 1 : cl.row0 + p;
+                    int pc = below ? cl.col0 + p : cl.col0 + cl.width - 1;
+                    if (n + 2 > pairs.length) pairs = Arrays.copyOf(pairs, pairs.length * 2);
+                    pairs[n++] = pr * cols + pc;
+                    pairs[n++] = below ? (pr + 1) * cols + pc : pr * cols + pc + 1;
+                }
+                runStart = -1;
+            }
+        }
+        return Arrays.copyOf(pairs, n);
+    }
+
+    private void rebuild(int k) {
+        Cluster cl = clusters[k];
+        int cr = k / clusterCols, cc = k % clusterCols;
+
+        // Collect (node, exit) pairs from the four borders.
+        List<int[]> links = new ArrayList<>();
+        addLinks(links, south[k], 0);
+        addLinks(links, east[k], 0);
+        if (cr > 0) addLinks(links, south[k - clusterCols], 1);
+        if (cc > 0) addLinks(links, east[k - 1], 1);
+        links.sort((a, b) -> Integer.compare(a[0], b[0]));
+
+        int[] nodes = new int[links.size()];
+        int n = 0;
+        for (int[] link : links) {
+            if (n == 0 || nodes[n - 1] != link[0]) nodes[n++] = link[0];
+        }
+        nodes = Arrays.copyOf(nodes, n);
+        int[][] exits = new int[n][];
+        int li = 0;
+        for (int i = 0; i < n; i++) {
+            int from = li;
+            while (li < links.size() && links.get(li)[0] == nodes[i]) li++;
+            exits[i] = new int[li - from];
+            for (int j = from; j < li; j++) exits[i][j - from] = links.get(j)[1];
+        }
+
+        int[] dist = new int[n * n];
+        for (int i = 0; i < n; i++) {
+            localBfs(cl, nodes[i]);
+            for (int j = 0; j < n; j++) {
+                dist[i * n + j] = localDist[local(cl, nodes[j])];
+            }
+        }
+        cl.nodes = nodes;
+        cl.exits = exits;
+        cl.dist = dist;
+    }
+
+    // side 0: this cluster owns the first cell of each pair; side 1: the second.
+    private static void addLinks(List<int[]> links, int[] pairs, int side) {
+        for (int i = 0; i < pairs.length; i += 2) {
+            links.add(new int[] { pairs[i + side], pairs[i + 1 - side] });
+        }
+    }
+
+    // ---- searching inside one cluster -----------------------------------------
+
+    private int local(Cluster cl, int cell) {
+        int r = cell / cols, c = cell % cols;
+        return (r - cl.row0) * cl.width + (c - cl.col0);
+    }
+
+    // BFS from 'from' that never leaves the cluster; fills localDist (-1 = unreachable).
+    private void localBfs(Cluster cl, int from) {
+        Arrays.fill(localDist, 0, cl.height * cl.width, -1);
+        int head = 0, tail = 0;
+        int start = local(cl, from);
+        localDist[start] = 0;
+        localMove[start] = -1;
+        localQueue[tail++] = start;
+        while (head < tail) {
+            int li = localQueue[head++];
+            int r = cl.row0 + li / cl.width, c = cl.col0 + li % cl.width;
+            for (int dir = 0; dir < 4; dir++) {
+                int nr = r + GridSearch.DR[dir], nc = c + GridSearch.DC[dir];
+                if (!cl.contains(nr, nc) || grid.isBlocked(nr * cols + nc)) continue;
+                int next = (nr - cl.row0) * cl.width + (nc - cl.col0);
+                if (localDist[next] >= 0) continue;
+                localDist[next] = localDist[li] + 1;
+                localMove[next] = (byte) dir;
+                localQueue[tail++] = next;
+            }
+        }
+    }
+
+    // Cells from 'from' to 'to' (both included) inside one cluster.
+    private int[] localPath(Cluster cl, int from, int to) {
+        localBfs(cl, from);
+        int li = local(cl, to);
+        if (localDist[li] < 0) {
+            throw new IllegalStateException("Grid changed since the route was planned");
+        }
+        int[] path = new int[localDist[li] + 1];
+        int cell = to;
+        for (int i = path.length - 1; i >= 0; i--) {
+            path[i] = cell;
+            int dir = localMove[local(cl, cell)];
+            if (dir < 0) break;
+            cell -= GridSearch.DR[dir] * cols + GridSearch.DC[dir];
+        }
+        return path;
+    }
+
+    // ---- the abstract search ----------------------------------------------------
+
+    private int nodeId(int cell) {
+        Cluster cl = clusters[clusterOf(cell / cols, cell % cols)];
+        return cl.offset + Arrays.binarySearch(cl.nodes, cell);
+    }
+
+    /*
+     * Finds a route on the abstract graph; the cell-level path of each leg is only worked
+     * out when the caller asks for it. Returns null if the goal is unreachable.
+     */
+    public Route findRoute(int startRow, int startCol, int goalRow, int goalCol) {
+        update();
+        expanded = 0;
+        if (!open(startRow, startCol) || !open(goalRow, goalCol)) return null;
+        int start = startRow * cols + startCol;
+        int goal = goalRow * cols + goalCol;
+        int startK = clusterOf(startRow, startCol), goalK = clusterOf(goalRow, goalCol);
+        Cluster startCl = clusters[startK], goalCl = clusters[goalK];
+        final int START = nodeCount, GOAL = nodeCount + 1;
+
+        // Connect the goal to the entrances of its cluster.
+        localBfs(goalCl, goal);
+        int[] goalDist = new int[goalCl.nodes.length];
+        for (int i = 0; i < goalDist.length; i++) goalDist[i] = localDist[local(goalCl, goalCl.nodes[i])];
+        int direct = startK == goalK ? localDist[local(goalCl, start)] : -1;
+
+        if (++absGeneration == 0) {
+            Arrays.fill(absStamp, 0);
+            absGeneration = 1;
+        }
+        heapSize = 0;
+        relax(START, -1, 0, start, goalRow, goalCol);
+
+        while (heapSize > 0) {
+            long top = pop();
+            int u = (int) top;
+            int f = (int) (top >>> 32);
+            int cell = u == START ? start : u == GOAL ? goal : nodeCell[u];
+            int gu = absG[u];
+            if (f != gu + Math.abs(cell / cols - goalRow) + Math.abs(cell % cols - goalCol)) continue;
+            if (u == GOAL) return route(START, GOAL, start, goal);
+            expanded++;
+
+            if (u == START) {
+                localBfs(startCl, start);
+                for (int j = 0; j < startCl.nodes.length; j++) {
+                    int d = localDist[local(startCl, startCl.nodes[j])];
+                    if (d >= 0) relax(startCl.offset + j, u, d, startCl.nodes[j], goalRow, goalCol);
+                }
+                if (direct >= 0) relax(GOAL, u, direct, goal, goalRow, goalCol);
+                continue;
+            }
+
+            int k = nodeCluster[u];
+            Cluster cl = clusters[k];
+            int i = u - cl.offset, n = cl.nodes.length;
+            for (int j = 0; j < n; j++) {
+                int d = cl.dist[i * n + j];
+                if (j != i && d >= 0) relax(cl.offset + j, u, gu + d, cl.nodes[j], goalRow, goalCol);
+            }
+            for (int exit : cl.exits[i]) {
+                relax(nodeId(exit), u, gu + 1, exit, goalRow, goalCol);
+            }
+            if (k == goalK && goalDist[i] >= 0) {
+                relax(GOAL, u, gu + goalDist[i], goal, goalRow, goalCol);
+            }
+        }
+        return null;
+    }
+
+    private void relax(int v, int from, int g, int cell, int goalRow, int goalCol) {
+        if (absStamp[v] == absGeneration && absG[v] <= g) return;
+        absStamp[v] = absGeneration;
+        absG[v] = g;
+        absParent[v] = from;
+        push(g + Math.abs(cell / cols - goalRow) + Math.abs(cell % cols - goalCol), v);
+    }
+
+    private Route route(int startId, int goalId, int start, int goal) {
+        int count = 0;
+        for (int v = goalId; v != -1; v = absParent[v]) count++;
+        int[] waypoints = new int[count];
+        for (int v = goalId, i = count - 1; v != -1; v = absParent[v], i--) {
+            waypoints[i] = v == startId ? start : v == goalId ? goal : nodeCell[v];
+        }
+        return new Route(waypoints, absG[goalId]);
+    }
+
+    public final class Route {
+        private final int[] waypoints;
+        private final int cost;
+        private final int[][] legs;
+
+        private Route(int[] waypoints, int cost) {
+            this.waypoints = waypoints;
+            this.cost = cost;
+            legs = new int[waypoints.length - 1][];
+        }
+
+        public int cost() {
+            return cost;
+        }
+
+        // Start, the entrances passed through, and the goal.
+        public int[] waypoints() {
+            return waypoints.clone();
+        }
+
+        public int legs() {
+            return legs.length;
+        }
+
+        // Cells of leg i, from waypoint i to waypoint i + 1; refined on first use.
+        public int[] leg(int i) {
+            if (legs[i] == null) {
+                int a = waypoints[i], b = waypoints[i + 1];
+                int ka = clusterOf(a / cols, a % cols), kb = clusterOf(b / cols, b % cols);
+                legs[i] = ka == kb ? localPath(clusters[ka], a, b) : new int[] { a, b };
+            }
+            return legs[i];
+        }
+
+        // The whole path, start and goal included.
+        public int[] cells() {
+            int[] path = new int[cost + 1];
+            int n = 0;
+            for (int i = 0; i < legs.length; i++) {
+                int[] leg = leg(i);
+                System.arraycopy(leg, n == 0 ? 0 : 1, path, n, leg.length - (n == 0 ? 0 : 1));
+                n += leg.length - (n == 0 ? 0 : 1);
+            }
+            if (legs.length == 0) path[n++] = waypoints[0];
+            return path;
+        }
+    }
+
+    private void push(int f, int id) {
+        if (heapSize == heap.length) heap = Arrays.copyOf(heap, heapSize << 1);
+        long key = (long) f << 32 | id;
+        int i = heapSize++;
+        while (i > 0) {
+            int p = (i - 1) >>> 1;
+            if (heap[p] <= key) break;
+            heap[i] = heap[p];
+            i = p;
+        }
+        heap[i] = key;
+    }
+
+    private long pop() {
+        long top = heap[0];
+        long last = heap[--heapSize];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) break;
+            if (child + 1 < heapSize && heap[child + 1] < heap[child]) child++;
+            if (last <= heap[child]) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return top;
+    }
+
+    public static void main(String[] args) {
+        // usage: HierarchicalPathfinder [size wall% clusterSize queries seed]
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int walls = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int clusterSize = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+        int queries = args.length > 3 ? Integer.parseInt(args[3]) : 1000;
+        Random random = new Random(args.length > 4 ? Long.parseLong(args[4]) : 1);
+
+        BitGrid grid = new BitGrid(n, n);
+        for (int r = 0; r < n; r++) {
+            for (int c = 0; c < n; c++) {
+                if (random.nextInt(100) < walls) grid.setBlocked(r, c, true);
+            }
+        }
+        long t0 = System.nanoTime();
+        HierarchicalPathfinder hpa = new HierarchicalPathfinder(grid, clusterSize);
+        System.out.printf("%dx%d, %d%% walls, %dx%d clusters: %,d abstract nodes built in %d ms%n", n, n, walls,
+                clusterSize, clusterSize, hpa.abstractNodes(), (System.nanoTime() - t0) / 1_000_000);
+
+        GridSearch flat = new GridSearch(grid);
+        int[][] pairs = new int[queries][];
+        for (int q = 0; q < queries; q++) {
+            pairs[q] = new int[] { random.nextInt(n), random.nextInt(n), random.nextInt(n), random.nextInt(n) };
+        }
+        long flatNs = 0, hpaNs = 0, flatCost = 0, hpaCost = 0;
+        int found = 0;
+        for (int[] p : pairs) {
+            long a = System.nanoTime();
+            int[] exact = flat.aStar(p[0], p[1], p[2], p[3]);
+            long b = System.nanoTime();
+            Route route = hpa.findRoute(p[0], p[1], p[2], p[3]);
+            int[] cells = route == null ? null : route.cells();
+            long c = System.nanoTime();
+            flatNs += b - a;
+            hpaNs += c - b;
+            if ((exact == null) != (cells == null)) throw new IllegalStateException("Reachability differs");
+            if (exact != null) {
+                found++;
+                flatCost += exact.length - 1;
+                hpaCost += cells.length - 1;
+            }
+        }
+        System.out.printf("%d queries (%d reachable): flat A* %.3f ms/query, HPA* %.3f ms/query, path length +%.2f%%%n",
+                queries, found, flatNs / 1e6 / queries, hpaNs / 1e6 / queries, 100.0 * (hpaCost - flatCost) / Math.max(1, flatCost));
+
+        t0 = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            hpa.setBlocked(random.nextInt(n), random.nextInt(n), true);
+        }
+        hpa.findRoute(0, 0, n - 1, n - 1);
+        System.out.printf("100 cells blocked: %d of %d clusters rebuilt in %d ms%n", hpa.rebuiltClusters(),
+                hpa.clusters.length, (System.nanoTime() - t0) / 1_000_000);
+    }
+}
+
+
+/*
+
+# Short problem statement
+
+Answering many long-distance queries on the same map with flat A\* re-explores most of the grid every time. **HPA\*** (Botea, Müller, Schaeffer) builds a small abstract graph once — entrances between fixed-size clusters, with exact distances inside each cluster — searches that graph instead of the grid, and works out the cell-level path only for the legs actually needed.
+
+---
+
+# Building the abstraction
+
+* The grid is cut into `clusterSize × clusterSize` clusters.
+* On each border between two clusters, every maximal run of cells open on both sides is an **entrance**. A run shorter than 6 cells gets one transition in its middle; a longer one gets a transition at each end. A transition is a pair of adjacent cells, one in each cluster, joined by an edge of cost 1.
+* Inside each cluster, a BFS from every entrance cell that stays inside the cluster gives the exact distances between its entrances (`dist[i * n + j]`, `-1` if they are not connected inside the cluster).
+
+---
+
+# Queries
+
+* The start and goal are connected temporarily to the entrances of their own clusters by one BFS each (plus a direct edge when both are in the same cluster).
+* A\* with the Manhattan heuristic runs over the abstract nodes only — a few per cluster instead of `clusterSize²` cells.
+* The result is a `Route` of waypoints. `leg(i)` refines one leg with a BFS inside a single cluster (or is a single step across a border) and caches it, so a caller that only needs the next few steps pays only for those.
+* Paths are near-optimal, not optimal: they must pass through the chosen transition cells. They are typically a few percent longer than flat A\*.
+
+---
+
+# Updates
+
+`setBlocked(row, col, ...)` marks only the cell's own cluster dirty, plus the neighbouring cluster and their shared border when the cell lies on that border. The next query rebuilds just those entrances and distance tables; the rest of the abstraction is reused.
+
+*/
@@ -0,0 +1,116 @@
+package Maze;
+
+public final class JumpTable {
+
+    private final Grid grid;
+    private final int rows;
+    private final int cols;
+    /*
+     * dist[cell * 4 + dir], dir as in GridSearch (up, down, left, right):
+     *   > 0  the next jump point is that many cells away,
+     *   <= 0 no jump point; -dist open cells follow before a wall or the edge.
+     */
+    private final short[] dist;
+
+    public JumpTable(Grid grid) {
+        if (grid.rows() > Short.MAX_VALUE || grid.cols() > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Jump tables need both sides below " + Short.MAX_VALUE);
+        }
+        this.grid = grid;
+        rows = grid.rows();
+        cols = grid.cols();
+        dist = new short[4 * grid.cells()];
+
+        // Horizontal first: vertical jump points depend on them.
+        for (int r = 0; r < rows; r++) {
+            for (int c = cols - 1; c >= 0; c--) sweep(r, c, 3, r, c + 1);
+            for (int c = 0; c < cols; c++) sweep(r, c, 2, r, c - 1);
+        }
+        for (int c = 0; c < cols; c++) {
+            for (int r = rows - 1; r >= 0; r--) sweep(r, c, 1, r + 1, c);
+            for (int r = 0; r < rows; r++) sweep(r, c, 0, r - 1, c);
+        }
+    }
+
+    public Grid grid() {
+        return grid;
+    }
+
+    private boolean open(int row, int col) {
+        return row >= 0 && col >= 0 && row < rows && col < cols && !grid.isBlocked(row * cols + col);
+    }
+
+    // Fills dist for (row, col) moving 'dir', given that the next cell is (nr, nc).
+    private void sweep(int row, int col, int dir, int nr, int nc) {
+        int value;
+        if (!open(nr, nc)) {
+            value = 0;
+        } else if (isJumpPoint(nr, nc, dir)) {
+            value = 1;
+        } else {
+            int next = dist[(nr * cols + nc) * 4 + dir];
+            value = next > 0 ? next + 1 : next - 1;
+        }
+        dist[(row * cols + col) * 4 + dir] = (short) value;
+    }
+
+    // The goal-independent stopping rules of GridSearch.jumpHorizontal / jumpVertical.
+    private boolean isJumpPoint(int row, int col, int dir) {
+        int dr = GridSearch.DR[dir], dc = GridSearch.DC[dir];
+        if (dir >= 2) {
+            return (open(row - 1, col) && !open(row - 1, col - dc)) || (open(row + 1, col) && !open(row + 1, col - dc));
+        }
+        if ((open(row, col - 1) && !open(row - dr, col - 1)) || (open(row, col + 1) && !open(row - dr, col + 1))) {
+            return true;
+        }
+        int cell = row * cols + col;
+        return dist[cell * 4 + 2] > 0 || dist[cell * 4 + 3] > 0;
+    }
+
+    // Whether a straight move from (row, col) in 'dir' reaches 'target' cells away.
+    private boolean reaches(int row, int col, int dir, int target) {
+        int d = dist[(row * cols + col) * 4 + dir];
+        return target <= (d > 0 ? d : -d);
+    }
+
+    /*
+     * The cell a jump from (row, col) in 'dir' stops at, or -1: the table entry, unless the
+     * goal comes first — on the segment itself, or (moving vertically) sideways from the
+     * goal's row.
+     */
+    int jump(int row, int col, int dir, int goalRow, int goalCol) {
+        int d = dist[(row * cols + col) * 4 + dir];
+        int length = d > 0 ? d : -d;
+        if (dir >= 2) {
+            int ahead = (goalCol - col) * GridSearch.DC[dir];
+            if (goalRow == row && ahead > 0 && ahead <= length) return goalRow * cols + goalCol;
+        } else {
+            int ahead = (goalRow - row) * GridSearch.DR[dir];
+            if (ahead > 0 && ahead <= length) {
+                if (goalCol == col) return goalRow * cols + goalCol;
+                int side = goalCol > col ? 3 : 2;
+                if (reaches(goalRow, col, side, Math.abs(goalCol - col))) return goalRow * cols + col;
+            }
+        }
+        if (d <= 0) return -1;
+        return (row + GridSearch.DR[dir] * d) * cols + col + GridSearch.DC[dir] * d;
+    }
+}
+
+
+/*
+
+# Short problem statement
+
+Plain JPS still walks every cell of every straight run on every query, and vertical runs also scan sideways at each step. None of that depends on the goal. `JumpTable` (JPS+) does the scans once per map and stores, for every cell and direction, how far away the next jump point or wall is.
+
+---
+
+# How it works
+
+* `dist[cell * 4 + dir]` is a `short`: positive means "the next jump point is this far", zero or negative means "no jump point before the wall, which is `-dist` open cells away". That is 8 bytes per cell and limits both sides to 32,767.
+* Built with one sweep per row and direction (from the far end, each cell takes its neighbour's value plus one) for the horizontal directions, then the same for columns. A vertical jump point is any cell with a vertical forced neighbour or a horizontal jump point in either direction, so the horizontal tables must exist first.
+* At query time `jump()` is one lookup plus the goal check. Moving horizontally, the goal counts if it is on the segment. Moving vertically it also counts if it is reachable sideways from the goal row, which is exactly where the scanning version would stop.
+* The table describes the map when it was built; rebuild it after editing the grid.
+
+*/
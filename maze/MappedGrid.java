@@ -0,0 +1,74 @@
+package Maze;
+
+import java.nio.ByteBuffer;
+
+public final class MappedGrid implements Grid {
+
+    // Each buffer maps 1 GB of the bit array, so files past 2 GB need no special case.
+    static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    private final int rows;
+    private final int cols;
+    private final ByteBuffer[] segments;
+
+    MappedGrid(int rows, int cols, ByteBuffer[] segments) {
+        this.rows = rows;
+        this.cols = cols;
+        this.segments = segments;
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int cols() {
+        return cols;
+    }
+
+    // The int-indexed searches need every cell number to fit in an int.
+    @Override
+    public int cells() {
+        long cells = (long) rows * cols;
+        if (cells > Integer.MAX_VALUE) {
+            throw new IllegalStateException(rows + "x" + cols + " has too many cells to search with int indices");
+        }
+        return (int) cells;
+    }
+
+    @Override
+    public boolean isBlocked(int cell) {
+        return isBlocked((long) cell);
+    }
+
+    public boolean isBlocked(long cell) {
+        long index = cell >>> 3;
+        int b = segments[(int) (index >>> SEGMENT_SHIFT)].get((int) (index & SEGMENT_MASK));
+        return (b & (1 << (cell & 7))) != 0;
+    }
+
+    @Override
+    public boolean isOpen(int row, int col) {
+        return row >= 0 && col >= 0 && row < rows && col < cols && !isBlocked((long) row * cols + col);
+    }
+}
+
+
+/*
+
+# Short problem statement
+
+A maze file can be far larger than anything worth parsing at startup. `MappedGrid` is a read-only `Grid` over a memory-mapped maze file (see `MazeFile`): opening it maps the file and reads the 16-byte header, nothing more. Cells are paged in by the OS the first time a search touches them, and they never take up Java heap.
+
+---
+
+# How it works
+
+* The bit array is mapped in 1 GB `MappedByteBuffer`s, because one buffer is indexed by `int` and cannot cover more than 2 GB. Cell `i` lives in byte `i >>> 3`; the top bits of the byte index choose the buffer and the low 30 bits index into it. Bytes never straddle two buffers.
+* Bit `i & 7` of that byte is the cell, with the same layout as `BitGrid`'s `long[]` read as little-endian bytes, so the two convert by plain copying.
+* `isBlocked(long)` and `isOpen(row, col)` work on any size the format can describe. The searches number cells with `int`, so `cells()` refuses maps with more than 2³¹ − 1 cells (a 256 MB file) rather than overflowing; larger maps can still be read cell by cell, for example a window at a time.
+* The buffers are read-only and only absolute `get`s are used, so one `MappedGrid` can be shared by any number of threads.
+
+*/
@@ -0,0 +1,233 @@
+package Maze;
+
+import java.lang.management.ManagementFactory;
+import java.util.*;
+
+public final class MazeBenchmark {
+
+    // The engines behind AStarSearchMaze, BestFirstSearchMaze and DLSMaze.
+    enum Solver { ASTAR, JPS, BEST_FIRST, IDDFS }
+
+    // Subsets to run: -Dmaze.kinds=rooms,open -Dmaze.solvers=astar,jps (default: all).
+    static <E extends Enum<E>> EnumSet<E> selected(Class<E> type, String property) {
+        String names = System.getProperty(property);
+        if (names == null) return EnumSet.allOf(type);
+        EnumSet<E> set = EnumSet.noneOf(type);
+        for (String name : names.split(",")) set.add(Enum.valueOf(type, name.trim().toUpperCase()));
+        return set;
+    }
+
+    private final Grid grid;
+    private final int[] queries;    // startRow, startCol, goalRow, goalCol per query
+    private final GridSearch search;
+    private final DLSMaze dls;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // Written by every measured query so the JIT cannot drop the work.
+    private long sink;
+
+    MazeBenchmark(Grid grid, int queryCount, long seed) {
+        this.grid = grid;
+        queries = queries(grid, queryCount, seed);
+        search = new GridSearch(grid);
+        dls = new DLSMaze(grid);
+    }
+
+    // Random pairs of open cells; the same seed gives the same queries.
+    static int[] queries(Grid grid, int count, long seed) {
+        Random random = new Random(seed);
+        int[] queries = new int[4 * count];
+        for (int i = 0; i < queries.length; i += 2) {
+            int row, col;
+            do {
+                row = random.nextInt(grid.rows());
+                col = random.nextInt(grid.cols());
+            } while (!grid.isOpen(row, col));
+            queries[i] = row;
+            queries[i + 1] = col;
+        }
+        return queries;
+    }
+
+    // Answers query i; returns the path cost or -1, and adds the cells expanded to 'nodes'.
+    private int run(Solver solver, int i, long[] nodes) {
+        int q = 4 * i;
+        int sr = queries[q], sc = queries[q + 1], gr = queries[q + 2], gc = queries[q + 3];
+        int[] path;
+        switch (solver) {
+            case ASTAR:
+                path = search.aStar(sr, sc, gr, gc);
+                nodes[0] += search.expanded();
+                break;
+            case JPS:
+                path = search.jumpPointSearch(sr, sc, gr, gc, null);
+                nodes[0] += search.expanded();
+                break;
+            case BEST_FIRST:
+                path = search.bestFirst(sr, sc, gr, gc);
+                nodes[0] += search.expanded();
+                break;
+            default:
+                path = dls.search(sr, sc, gr, gc, grid.cells());
+                nodes[0] += dls.expanded();
+                break;
+        }
+        if (path == null) return -1;
+        sink += path[path.length - 1];
+        // Every solver returns every cell of the path, start first, so the cost is the step count.
+        return path.length - 1;
+    }
+
+    static final class Result {
+        final Solver solver;
+        final int queries;
+        final long nanos;
+        final long nodes;
+        final long bytes;
+        final int[] costs;
+
+        Result(Solver solver, int queries, long nanos, long nodes, long bytes, int[] costs) {
+            this.solver = solver;
+            this.queries = queries;
+            this.nanos = nanos;
+            this.nodes = nodes;
+            this.bytes = bytes;
+            this.costs = costs;
+        }
+
+        double queriesPerSecond() {
+            return queries / (nanos / 1e9);
+        }
+
+        double nodesPerSecond() {
+            return nodes / (nanos / 1e9);
+        }
+
+        double bytesPerQuery() {
+            return (double) bytes / queries;
+        }
+
+        double bytesPerSecond() {
+            return bytes / (nanos / 1e9);
+        }
+    }
+
+    /*
+     * Warms up for at least warmupMillis, then measures whole passes over the queries until
+     * measureMillis have gone by. Allocation is counted for this thread only, which is the
+     * only one the solvers use.
+     */
+    Result measure(Solver solver, long warmupMillis, long measureMillis) {
+        long[] nodes = new long[1];
+        int[] costs = new int[queries.length / 4];
+        long end = System.nanoTime() + warmupMillis * 1_000_000;
+        do {
+            for (int i = 0; i < costs.length; i++) costs[i] = run(solver, i, nodes);
+        } while (System.nanoTime() < end);
+
+        nodes[0] = 0;
+        int done = 0;
+        long bytes = threads.getCurrentThreadAllocatedBytes();
+        long t0 = System.nanoTime();
+        end = t0 + measureMillis * 1_000_000;
+        long now;
+        do {
+            for (int i = 0; i < costs.length; i++) run(solver, i, nodes);
+            done += costs.length;
+        } while ((now = System.nanoTime()) < end);
+        bytes = threads.getCurrentThreadAllocatedBytes() - bytes;
+        return new Result(solver, done, now - t0, nodes[0], bytes, costs);
+    }
+
+    long sink() {
+        return sink;
+    }
+
+    public static void main(String[] args) {
+        // usage: MazeBenchmark [size queries seed warmup-ms measure-ms wall%] [--csv]
+        boolean csv = Arrays.asList(args).contains("--csv");
+        args = Arrays.stream(args).filter(a -> !a.equals("--csv")).toArray(String[]::new);
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 129;
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+        long warmup = args.length > 3 ? Long.parseLong(args[3]) : 1000;
+        long measure = args.length > 4 ? Long.parseLong(args[4]) : 2000;
+        int walls = args.length > 5 ? Integer.parseInt(args[5]) : 25;
+
+        if (csv) {
+            System.out.println("kind,size,solver,queries,queries_per_s,nodes_per_s,bytes_per_query,bytes_per_s");
+        } else {
+            System.out.printf("%dx%d mazes, %d queries each, seed %d, %d ms warm-up, %d ms measured%n", size, size,
+                    count, seed, warmup, measure);
+        }
+        long sink = 0;
+        for (MazeGenerator.Kind kind : selected(MazeGenerator.Kind.class, "maze.kinds")) {
+            BitGrid grid = MazeGenerator.generate(kind, size, size, walls, seed);
+            MazeBenchmark bench = new MazeBenchmark(grid, count, seed);
+            if (!csv) System.out.println(kind + (kind == MazeGenerator.Kind.OBSTACLES ? " (" + walls + "% walls)" : ""));
+
+            int[] optimal = null;
+            for (Solver solver : selected(Solver.class, "maze.solvers")) {
+                Result result = bench.measure(solver, warmup, measure);
+                // Every solver but greedy best-first must agree with the first one on the shortest path costs.
+                if (solver != Solver.BEST_FIRST) {
+                    if (optimal == null) {
+                        optimal = result.costs;
+                    } else if (!Arrays.equals(optimal, result.costs)) {
+                        throw new IllegalStateException(solver + " costs differ from the other solvers on " + kind);
+                    }
+                }
+                if (csv) {
+                    System.out.printf(Locale.ROOT, "%s,%d,%s,%d,%.1f,%.1f,%.1f,%.1f%n", kind, size, solver,
+                            result.queries, result.queriesPerSecond(), result.nodesPerSecond(), result.bytesPerQuery(),
+                            result.bytesPerSecond());
+                } else {
+                    System.out.printf("  %-10s %,12.1f queries/s  %,14.0f nodes/s  %,10.1f B/query  %,8.2f MB/s%n",
+                            solver, result.queriesPerSecond(), result.nodesPerSecond(), result.bytesPerQuery(),
+                            result.bytesPerSecond() / 1e6);
+                }
+            }
+            sink += bench.sink();
+        }
+        if (sink == 42) System.out.println();
+    }
+}
+
+
+/*
+
+# Short problem statement
+
+Before this, the only ways to judge the maze solvers were the 5×4 example and `AStarSearchMaze --compare` on one random map. `MazeBenchmark` runs every solver over fixed, seeded query sets on every `MazeGenerator` kind. For each pair it reports throughput, nodes expanded per second and allocation, so a change that slows a solver or makes it allocate per query shows up as a different number.
+
+---
+
+# What is measured
+
+| column | meaning |
+|---|---|
+| queries/s | shortest path queries answered per second, over whole passes of the query set |
+| nodes/s | cells expanded per second (`GridSearch.expanded()`, `DLSMaze.expanded()` summed over all deepening passes) |
+| B/query, MB/s | bytes allocated by the benchmark thread per query and per second (`com.sun.management.ThreadMXBean`) |
+
+`ASTAR`, `JPS` and `BEST_FIRST` are `GridSearch.aStar`, `jumpPointSearch` and `bestFirst`: the engines behind `AStarSearchMaze` and `BestFirstSearchMaze`. `IDDFS` is `DLSMaze.search` with no effective depth limit. The solvers are called directly, not through the `main`s, so printing is not measured. With one warm workspace per solver the steady state should allocate only the returned path arrays.
+
+---
+
+# How it works
+
+* **Inputs.** Each kind is generated at `size × size` from the seed, and the queries are `count` random pairs of open cells from the same seed. The same arguments always measure the same work.
+* **Warm-up, then measurement.** Each solver first runs full passes for the warm-up time, so the JIT has compiled the hot loops. It is then timed over whole passes until the measurement time is used up. Results feed a `sink` that is printed conditionally, so the work cannot be optimised away.
+* **Cross-check.** A\*, JPS and IDDFS must return the same cost for every query, or the run stops. Every solver returns every cell of its path (JPS fills the cells between jump points back in), so a cost is the path length minus one.
+ A faster but wrong solver fails here instead of showing up as an improvement.
+* **Output.** The default is a table. `--csv` prints one line per kind and solver, which can be kept and diffed between builds.
+
+---
+
+# Why not JMH
+
+The repository has no build system, and JMH needs its annotation processor and a generated harness. This class follows the same discipline by hand: warm-up before measurement, whole-pass timing with `System.nanoTime`, a sink against dead-code elimination, and per-thread allocation counters, which is what JMH's `-prof gc` reads as well. It does not fork a fresh JVM per benchmark, so when comparing close numbers, run one kind or solver per JVM with `-Dmaze.kinds=...` and `-Dmaze.solvers=...`.
+
+*/
@@ -0,0 +1,221 @@
+package Maze;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public final class MazeFile {
+
+    static final int MAGIC = 0x455A414D;    // "MAZE" as little-endian bytes
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+
+    private MazeFile() {
+    }
+
+    // Bytes of bit array for a rows x cols maze.
+    static long dataBytes(int rows, int cols) {
+        return ((long) rows * cols + 7) >>> 3;
+    }
+
+    /*
+     * Maps a maze file read-only. Only the header is read. The channel is closed again right
+     * away; the mapping stays valid until the grid is garbage collected.
+     */
+    public static MappedGrid open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+            }
+            if (header.hasRemaining() || header.getInt(0) != MAGIC) {
+                throw new IOException(file + " is not a maze file");
+            }
+            if (header.getInt(4) != VERSION) {
+                throw new IOException(file + " has unsupported maze format version " + header.getInt(4));
+            }
+            int rows = header.getInt(8), cols = header.getInt(12);
+            if (rows < 1 || cols < 1) {
+                throw new IOException(file + " has a bad size " + rows + "x" + cols);
+            }
+            long bytes = dataBytes(rows, cols);
+            if (channel.size() < HEADER_BYTES + bytes) {
+                throw new IOException(file + " is truncated: " + rows + "x" + cols + " needs "
+                        + (HEADER_BYTES + bytes) + " bytes, found " + channel.size());
+            }
+
+            long segment = 1L << MappedGrid.SEGMENT_SHIFT;
+            ByteBuffer[] segments = new ByteBuffer[(int) ((bytes + segment - 1) / segment)];
+            for (int i = 0; i < segments.length; i++) {
+                long offset = i * segment;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + offset,
+                        Math.min(segment, bytes - offset));
+            }
+            return new MappedGrid(rows, cols, segments);
+        }
+    }
+
+    public static void write(Grid grid, Path file) throws IOException {
+        try (Writer out = new Writer(file)) {
+            out.header(grid.rows(), grid.cols());
+            int cells = grid.cells();
+            for (int cell = 0; cell < cells; cell++) {
+                out.bit(grid.isBlocked(cell));
+            }
+        }
+    }
+
+    /*
+     * Converts a text maze, one line per row: '#' or '1' is a wall, anything else ('.', ' ',
+     * '0', 'S', 'G', ...) is open. Rows are streamed straight into the bit array, so the
+     * input can be larger than memory. Empty lines are allowed only after the last row.
+     * Returns the number of rows.
+     */
+    public static int convert(Path ascii, Path file) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(ascii, StandardCharsets.ISO_8859_1);
+             Writer out = new Writer(file)) {
+            int rows = 0, cols = -1, emptyLine = 0;
+            String line;
+            for (int number = 1; (line = in.readLine()) != null; number++) {
+                if (line.isEmpty()) {
+                    if (emptyLine == 0) emptyLine = number;
+                    continue;
+                }
+                if (emptyLine != 0) {
+                    // Most likely a row of spaces whose trailing whitespace an editor stripped;
+                    // skipping it would shift every later row up.
+                    throw new IOException(ascii + ":" + emptyLine + ": empty line before row " + (rows + 1)
+                            + "; write open cells as '.' rather than spaces");
+
+                }
+                if (cols < 0) {
+                    cols = line.length();
+                } else if (line.length() != cols) {
+                    throw new IOException(ascii + ": row " + (rows + 1) + " has " + line.length()
+                            + " columns, expected " + cols);
+                }
+                for (int c = 0; c < cols; c++) {
+                    char ch = line.charAt(c);
+                    out.bit(ch == '#' || ch == '1');
+                }
+                rows++;
+            }
+            if (rows == 0) throw new IOException(ascii + " is empty");
+            out.header(rows, cols);
+            return rows;
+        }
+    }
+
+    // Bit-packs cells in order behind a header that can be filled in at the end.
+    private static final class Writer implements AutoCloseable {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+        private int current;
+        private int used;
+
+        Writer(Path file) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            channel.position(HEADER_BYTES);
+        }
+
+        void header(int rows, int cols) throws IOException {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(rows).putInt(cols).flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        }
+
+        void bit(boolean blocked) throws IOException {
+            if (blocked) current |= 1 << used;
+            if (++used == 8) {
+                put();
+            }
+        }
+
+        private void put() throws IOException {
+            if (!buffer.hasRemaining()) flush();
+            buffer.put((byte) current);
+            current = 0;
+            used = 0;
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (used > 0) put();
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        // usage: MazeFile convert maze.txt maze.bin | MazeFile info maze.bin
+        if (args.length == 3 && args[0].equals("convert")) {
+            long t0 = System.nanoTime();
+            int rows = convert(Path.of(args[1]), Path.of(args[2]));
+            System.out.printf("Wrote %s: %d rows, %,d bytes, %d ms%n", args[2], rows, Files.size(Path.of(args[2])),
+                    (System.nanoTime() - t0) / 1_000_000);
+        } else if (args.length == 2 && args[0].equals("info")) {
+            long t0 = System.nanoTime();
+            MappedGrid grid = open(Path.of(args[1]));
+            long opened = System.nanoTime() - t0;
+            System.out.printf("%s: %d x %d, opened in %.3f ms; start %s, goal %s%n", args[1], grid.rows(), grid.cols(),
+                    opened / 1e6, grid.isOpen(0, 0) ? "open" : "blocked",
+                    grid.isOpen(grid.rows() - 1, grid.cols() - 1) ? "open" : "blocked");
+        } else {
+            System.err.println("usage: MazeFile convert <maze.txt> <maze.bin> | MazeFile info <maze.bin>");
+            System.exit(2);
+        }
+    }
+}
+
+
+/*
+
+# Short problem statement
+
+The maze programs used to hardcode a 5×4 array in `main()`. `MazeFile` defines a compact binary format that large maps can be stored in, opened with `FileChannel.map` in constant time, and searched through the `Grid` interface without being copied onto the heap.
+
+---
+
+# Format
+
+| offset | size | field |
+|---|---|---|
+| 0 | 4 | magic `"MAZE"` |
+| 4 | 4 | version (`1`) |
+| 8 | 4 | rows |
+| 12 | 4 | cols |
+| 16 | ⌈rows·cols / 8⌉ | cells, row-major, bit `i & 7` of byte `i >>> 3`; `1` = wall |
+
+All integers are little-endian. Rows are packed back to back with no padding, so cell `row * cols + col` is found with one shift and no division, and the bits are laid out exactly like `BitGrid`'s `long[]`. A 1 GB file holds about 8.6 billion cells.
+
+---
+
+# Operations
+
+* `open(path)` checks the header and the file length, then maps the data in 1 GB read-only segments and returns a `MappedGrid`. Nothing is read beyond the header, so a 1 GB map opens in well under a millisecond; pages are faulted in by the searches that touch them.
+* `write(grid, path)` saves any `Grid`, e.g. a `BitGrid` edited in memory.
+* `convert(text, path)` turns an ASCII maze (`#`/`1` walls, anything else open) into the binary format, streaming rows through a 1 MB buffer. The row count is only known at the end, so the header is written last at offset 0. Empty lines are accepted only after the last row. An empty line before a row is an error rather than being skipped, because it is usually an all-open row of spaces that an editor trimmed, and dropping it would move every later row up by one.
+
+* `main`: `convert <maze.txt> <maze.bin>` and `info <maze.bin>`. `AStarSearchMaze`, `BestFirstSearchMaze` and `DLSMaze` take a maze file as their last argument.
+
+*/
@@ -0,0 +1,238 @@
+package Maze;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+
+public final class MazeGenerator {
+
+    /*
+     * BACKTRACKER: a perfect maze (exactly one path between any two cells), long winding corridors.
+     * OBSTACLES: independent random walls at a given percentage; may be disconnected.
+     * ROOMS: rectangular rooms joined by one-cell corridors, as in dungeon maps.
+     * OPEN: no walls at all.
+     */
+    public enum Kind { BACKTRACKER, OBSTACLES, ROOMS, OPEN }
+
+    private MazeGenerator() {
+    }
+
+    /*
+     * The same arguments always give the same maze, on any JVM: java.util.Random's sequence is
+     * part of its specification. 'wallPercent' is only used by OBSTACLES. The corners (0, 0)
+     * and (rows - 1, cols - 1) are always open; except for OBSTACLES they are also connected.
+     */
+    public static BitGrid generate(Kind kind, int rows, int cols, int wallPercent, long seed) {
+        switch (kind) {
+            case BACKTRACKER:
+                return backtracker(rows, cols, seed);
+            case OBSTACLES:
+                return obstacles(rows, cols, wallPercent, seed);
+            case ROOMS:
+                return rooms(rows, cols, seed);
+            default:
+                return new BitGrid(rows, cols);
+        }
+    }
+
+    // Carves passages between the cells at even (row, col) with a depth-first walk.
+    public static BitGrid backtracker(int rows, int cols, long seed) {
+        Random random = new Random(seed);
+        BitGrid grid = blocked(rows, cols);
+        int cellRows = (rows + 1) / 2, cellCols = (cols + 1) / 2;
+        boolean[] visited = new boolean[cellRows * cellCols];
+        int[] stack = new int[cellRows * cellCols];
+        int[] choices = new int[4];
+
+        int top = 0;
+        stack[0] = 0;
+        visited[0] = true;
+        grid.setBlocked(0, 0, false);
+        while (top >= 0) {
+            int cell = stack[top];
+            int r = cell / cellCols, c = cell % cellCols;
+            int count = 0;
+            for (int dir = 0; dir < 4; dir++) {
+                int nr = r + GridSearch.DR[dir], nc = c + GridSearch.DC[dir];
+                if (nr >= 0 && nc >= 0 && nr < cellRows && nc < cellCols && !visited[nr * cellCols + nc]) {
+                    choices[count++] = dir;
+                }
+            }
+            if (count == 0) {
+                top--;
+                continue;
+            }
+            int dir = choices[random.nextInt(count)];
+            int nr = r + GridSearch.DR[dir], nc = c + GridSearch.DC[dir];
+            grid.setBlocked(2 * r + GridSearch.DR[dir], 2 * c + GridSearch.DC[dir], false);   // the wall between
+            grid.setBlocked(2 * nr, 2 * nc, false);
+            visited[nr * cellCols + nc] = true;
+            stack[++top] = nr * cellCols + nc;
+        }
+
+        // With an even size the last row or column is all wall; dig the goal corner out to its nearest cell.
+        int goalRow = rows - 1, goalCol = cols - 1;
+        for (int r = goalRow & ~1; r <= goalRow; r++) grid.setBlocked(r, goalCol & ~1, false);
+        for (int c = goalCol & ~1; c <= goalCol; c++) grid.setBlocked(goalRow, c, false);
+        return grid;
+    }
+
+    public static BitGrid obstacles(int rows, int cols, int wallPercent, long seed) {
+        if (wallPercent < 0 || wallPercent > 100) {
+            throw new IllegalArgumentException("Wall percentage must be 0..100, got " + wallPercent);
+        }
+        Random random = new Random(seed);
+        BitGrid grid = new BitGrid(rows, cols);
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                if (random.nextInt(100) < wallPercent) grid.setBlocked(r, c, true);
+            }
+        }
+        grid.setBlocked(0, 0, false);
+        grid.setBlocked(rows - 1, cols - 1, false);
+        return grid;
+    }
+
+    /*
+     * Rooms of 3..12 cells a side, placed where they do not overlap another room or its
+     * one-cell margin. Each room is joined to the previous one by an L-shaped corridor, so
+     * every room is reachable; the first and last rooms hold the two corners, and the last
+     * one is placed without the overlap check.
+
+     */
+    public static BitGrid rooms(int rows, int cols, long seed) {
+        Random random = new Random(seed);
+        BitGrid grid = blocked(rows, cols);
+        boolean[] used = new boolean[rows * cols];     // room cells and their margins
+        List<int[]> rooms = new ArrayList<>();          // { row, col, height, width }
+
+        rooms.add(room(grid, used, 0, 0, Math.min(rows, 3), Math.min(cols, 3)));
+        int attempts = Math.max(8, (int) ((long) rows * cols / 40));
+        for (int i = 0; i < attempts; i++) {
+            int height = 3 + random.nextInt(10), width = 3 + random.nextInt(10);
+            if (height > rows || width > cols) continue;
+            int row = random.nextInt(rows - height + 1), col = random.nextInt(cols - width + 1);
+            if (free(used, cols, row, col, height, width)) {
+                rooms.add(room(grid, used, row, col, height, width));
+            }
+        }
+        int height = Math.min(rows, 3), width = Math.min(cols, 3);
+        rooms.add(room(grid, used, rows - height, cols - width, height, width));
+
+        for (int i = 1; i < rooms.size(); i++) {
+            int[] a = rooms.get(i - 1), b = rooms.get(i);
+            int ar = a[0] + a[2] / 2, ac = a[1] + a[3] / 2;
+            int br = b[0] + b[2] / 2, bc = b[1] + b[3] / 2;
+            // Horizontal first or vertical first, at random, so corridors do not all bend the same way.
+            int bendRow = random.nextBoolean() ? ar : br;
+            int bendCol = bendRow == ar ? bc : ac;
+            carve(grid, ar, ac, bendRow, bendCol);
+            carve(grid, bendRow, bendCol, br, bc);
+        }
+        return grid;
+    }
+
+    private static BitGrid blocked(int rows, int cols) {
+        BitGrid grid = new BitGrid(rows, cols);
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                grid.setBlocked(r, c, true);
+            }
+        }
+        return grid;
+    }
+
+    private static boolean free(boolean[] used, int cols, int row, int col, int height, int width) {
+        for (int r = row; r < row + height; r++) {
+            for (int c = col; c < col + width; c++) {
+                if (used[r * cols + c]) return false;
+            }
+        }
+        return true;
+    }
+
+    private static int[] room(BitGrid grid, boolean[] used, int row, int col, int height, int width) {
+        int rows = grid.rows(), cols = grid.cols();
+        for (int r = Math.max(0, row - 1); r < Math.min(rows, row + height + 1); r++) {
+            for (int c = Math.max(0, col - 1); c < Math.min(cols, col + width + 1); c++) {
+                used[r * cols + c] = true;
+                if (r >= row && c >= col && r < row + height && c < col + width) grid.setBlocked(r, c, false);
+            }
+        }
+        return new int[] { row, col, height, width };
+    }
+
+    // Opens a straight line of cells; the two ends share a row or a column.
+    private static void carve(BitGrid grid, int fromRow, int fromCol, int toRow, int toCol) {
+        int dr = Integer.signum(toRow - fromRow), dc = Integer.signum(toCol - fromCol);
+        for (int r = fromRow, c = fromCol; ; r += dr, c += dc) {
+            grid.setBlocked(r, c, false);
+            if (r == toRow && c == toCol) break;
+        }
+    }
+
+    static void print(Grid grid) {
+        StringBuilder out = new StringBuilder();
+        for (int r = 0; r < grid.rows(); r++) {
+            for (int c = 0; c < grid.cols(); c++) {
+                out.append(grid.isOpen(r, c) ? '.' : '#');
+            }
+            out.append('\n');
+        }
+        System.out.print(out);
+    }
+
+    public static void main(String[] args) throws IOException {
+        // usage: MazeGenerator <backtracker | obstacles | rooms | open> <rows> <cols> [seed [wall%]] [maze.bin]
+        if (args.length < 3) {
+            System.err.println("usage: MazeGenerator <backtracker | obstacles | rooms | open> <rows> <cols>"
+                    + " [seed [wall%]] [maze.bin]");
+            System.exit(2);
+        }
+        Kind kind = Kind.valueOf(args[0].toUpperCase());
+        int rows = Integer.parseInt(args[1]), cols = Integer.parseInt(args[2]);
+        int next = 3;
+        long seed = 1;
+        int wallPercent = 20;
+        if (args.length > next && args[next].matches("-?\\d+")) seed = Long.parseLong(args[next++]);
+        if (args.length > next && args[next].matches("\\d+")) wallPercent = Integer.parseInt(args[next++]);
+
+        BitGrid grid = generate(kind, rows, cols, wallPercent, seed);
+        if (args.length > next) {
+            MazeFile.write(grid, Path.of(args[next]));
+            System.out.printf("Wrote %s: %s %dx%d, seed %d%n", args[next], kind, rows, cols, seed);
+        } else {
+            print(grid);
+        }
+    }
+}
+
+
+/*
+
+# Short problem statement
+
+The maze searches could only be tried on the 5×4 example in their `main()`s and on uniform random walls in `AStarSearchMaze --compare`. Different map shapes stress the solvers in different ways, so `MazeGenerator` produces four families of any size, and always the same maze for the same seed.
+
+---
+
+# Kinds
+
+| kind | what it looks like | what it stresses |
+|---|---|---|
+| `BACKTRACKER` | a perfect maze: one-cell corridors, exactly one route between two cells | paths far longer than the Manhattan distance, so heuristics help little and iterative deepening needs many passes |
+| `OBSTACLES` | independent random walls at `wallPercent` | the common game-map case; above ~40% it breaks into islands, so some queries have no path |
+| `ROOMS` | rooms of 3–12 cells joined by one-cell corridors | large open areas with narrow doors, where A\* tie-breaking and JPS matter |
+| `OPEN` | no walls | the best case for every search; a baseline |
+
+---
+
+# How it works
+
+* **Backtracker.** The cells at even `(row, col)` are maze cells and everything else starts as wall. A depth-first walk over maze cells, kept on an explicit `int[]` stack so large mazes do not overflow the thread stack, moves to a random unvisited neighbour and knocks out the wall between. When the size is even, the last row or column has no maze cells; the goal corner is dug through to the nearest one.
+* **Rooms.** The start-corner room is placed first, then up to `rows·cols/40` random rooms that keep a one-cell margin from each other and from the rooms before them. The goal-corner room is placed last and without that check, so it may overlap a random room; either way it is carved open. Consecutive rooms
+ are joined by an L-shaped corridor between their centres, which chains all rooms together, with the last corridor ending at the goal corner.
+* **Determinism.** Every kind uses a single `java.util.Random(seed)`, whose output is fixed by its specification, so a seed names the same maze on every machine. Benchmarks therefore compare like with like.
+* `main` prints small mazes as text (`#` wall, `.` open) or writes a `MazeFile` for the solvers' `main`s and for `MazeBenchmark`.
+
+*/
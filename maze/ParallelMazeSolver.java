@@ -0,0 +1,159 @@
+package Maze;
+
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class ParallelMazeSolver implements AutoCloseable {
+
+    // Queries are claimed in chunks so threads rarely touch the shared counter.
+    private static final int CHUNK = 64;
+
+    private final Grid grid;
+    private final ExecutorService pool;
+    private final int threads;
+    // One search workspace per thread that ever asks: the pool's workers and any caller.
+    private final ThreadLocal<GridSearch> workspace;
+
+    /*
+     * The grid is shared by every thread and must not change while queries run: a MappedGrid,
+     * or a BitGrid nobody edits any more.
+     */
+    public ParallelMazeSolver(Grid grid, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Need at least one thread, got " + threads);
+        }
+        this.grid = grid;
+        this.threads = threads;
+        workspace = ThreadLocal.withInitial(() -> new GridSearch(grid));
+        AtomicInteger counter = new AtomicInteger();
+        pool = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "maze-solver-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public Grid grid() {
+        return grid;
+    }
+
+    // Single queries run on the calling thread, in that thread's own workspace.
+    public int[] path(int startRow, int startCol, int goalRow, int goalCol) {
+        return workspace.get().aStar(startRow, startCol, goalRow, goalCol);
+    }
+
+    public int distance(int startRow, int startCol, int goalRow, int goalCol) {
+        return workspace.get().distance(startRow, startCol, goalRow, goalCol);
+    }
+
+    /*
+     * Shortest path costs for many queries at once. 'queries' holds four ints per query
+     * (startRow, startCol, goalRow, goalCol); the result holds one cost per query, -1 where
+     * there is no path. Blocks until every query is answered.
+     */
+    public int[] distances(int[] queries) throws InterruptedException {
+        if (queries.length % 4 != 0) {
+            throw new IllegalArgumentException("Queries take four ints each, got " + queries.length);
+        }
+        int count = queries.length / 4;
+        int[] costs = new int[count];
+        AtomicInteger nextChunk = new AtomicInteger();
+
+        List<Callable<Void>> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            workers.add(() -> {
+                GridSearch search = workspace.get();
+                int from;
+                while ((from = nextChunk.getAndAdd(CHUNK)) < count) {
+                    int to = Math.min(count, from + CHUNK);
+                    for (int i = from; i < to; i++) {
+                        int q = 4 * i;
+                        costs[i] = search.distance(queries[q], queries[q + 1], queries[q + 2], queries[q + 3]);
+                    }
+                }
+                return null;
+            });
+        }
+        for (Future<Void> done : pool.invokeAll(workers)) {
+            try {
+                done.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Maze query failed", e.getCause());
+            }
+        }
+        return costs;
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        // usage: ParallelMazeSolver [size wall% queries seed]
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int walls = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int count = args.length > 2 ? Integer.parseInt(args[2]) : 2000;
+        Random random = new Random(args.length > 3 ? Long.parseLong(args[3]) : 1);
+
+        BitGrid grid = new BitGrid(n, n);
+        for (int r = 0; r < n; r++) {
+            for (int c = 0; c < n; c++) {
+                if (random.nextInt(100) < walls) grid.setBlocked(r, c, true);
+            }
+        }
+        int[] queries = new int[4 * count];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = random.nextInt(n);
+        }
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        int[] expected = null;
+        for (int threads : new int[] { 1, Math.max(2, cores) }) {
+            try (ParallelMazeSolver solver = new ParallelMazeSolver(grid, threads)) {
+                solver.distances(Arrays.copyOf(queries, 4 * Math.min(count, 100)));     // warm up
+                long t0 = System.nanoTime();
+                int[] costs = solver.distances(queries);
+                long ns = System.nanoTime() - t0;
+                if (expected == null) {
+                    expected = costs;
+                } else if (!Arrays.equals(expected, costs)) {
+                    throw new IllegalStateException("Parallel costs differ from the single-threaded run");
+                }
+                System.out.printf("%2d thread(s): %,d queries in %,d ms (%,.0f queries/s)%n", threads, count,
+                        ns / 1_000_000, count / (ns / 1e9));
+            }
+        }
+
+        // Steady state: repeated queries on a warm workspace allocate nothing.
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        try (ParallelMazeSolver solver = new ParallelMazeSolver(grid, 1)) {
+            for (int i = 0; i < 4 * 200; i += 4) solver.distance(queries[i], queries[i + 1], queries[i + 2], queries[i + 3]);
+            long before = bean.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < 4 * 200; i += 4) solver.distance(queries[i], queries[i + 1], queries[i + 2], queries[i + 3]);
+            long bytes = bean.getCurrentThreadAllocatedBytes() - before;
+            System.out.printf("Allocated on a warm workspace: %,d bytes over 200 queries%n", bytes);
+        }
+    }
+}
+
+
+/*
+
+# Short problem statement
+
+Queries on one maze are independent, so N cores should answer N of them at once. That needs two things: a grid that every thread can read without locking, and search state that is not shared. `ParallelMazeSolver` gives each thread its own reusable `GridSearch` (open list, `g`, `stamp` and `parent` arrays) over one immutable `Grid`.
+
+---
+
+# How it works
+
+* **Workspaces.** `GridSearch` is the workspace: arrays sized to the grid, reset in `O(1)` per query by bumping its generation counter. A `ThreadLocal` hands each thread its own, created on first use and then kept, so there is one per pool worker plus one per outside thread that calls `path`/`distance` directly. The open list only grows, so after a few queries a `distance()` call allocates nothing. `main` checks this with the thread allocation counter.
+* **Batches.** `distances(int[])` takes queries packed four ints apiece and runs one task per thread. Each task claims 64 queries at a time from an `AtomicInteger`, so one slow query does not hold up a statically assigned slice. Each query writes only its own slot of the result array, and `invokeAll` establishes happens-before before that array is returned.
+* **Grid.** `BitGrid` and `MappedGrid` reads are plain array or buffer reads. They are safe from any number of threads as long as nobody edits the grid during a batch.
+* **Memory.** About 9 bytes per cell per thread that has searched (see `GridSearch`), so for very large maps pick the thread count with that in mind.
+* The pool's threads are daemon threads; `close()` shuts it down.
+
+*/
@@ -0,0 +1,694 @@
+package Route_Finding;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+public final class ContractionHierarchy {
+
+    static final int MAGIC = 0x48435452;    // "RTCH" as little-endian bytes
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 20;
+
+    // Witness searches give up after settling this many nodes; the shortcut is then added anyway.
+    // Estimating a priority needs only a rough count, so it searches less.
+    static final int WITNESS_SETTLE_LIMIT = 500;
+    static final int ESTIMATE_SETTLE_LIMIT = 50;
+
+    private final int[] rank;           // contraction order: 0 was contracted first
+
+    // Upward arcs u -> v (rank[v] > rank[u]), stored at u. middle is the contracted node a
+    // shortcut stands for, or -1 for an arc of the original graph.
+    private final int[] upOffsets;
+    private final int[] upTargets;
+    private final int[] upWeights;
+    private final int[] upMiddle;
+
+    // Downward arcs u -> v (rank[u] > rank[v]), stored at v by their source u, so the
+    // backward search also only climbs.
+    private final int[] downOffsets;
+    private final int[] downSources;
+    private final int[] downWeights;
+    private final int[] downMiddle;
+
+    private ContractionHierarchy(int[] rank, int[] upOffsets, int[] upTargets, int[] upWeights, int[] upMiddle,
+                                 int[] downOffsets, int[] downSources, int[] downWeights, int[] downMiddle) {
+        this.rank = rank;
+        this.upOffsets = upOffsets;
+        this.upTargets = upTargets;
+        this.upWeights = upWeights;
+        this.upMiddle = upMiddle;
+        this.downOffsets = downOffsets;
+        this.downSources = downSources;
+        this.downWeights = downWeights;
+        this.downMiddle = downMiddle;
+    }
+
+    public int nodes() {
+        return rank.length;
+    }
+
+    public int rank(int node) {
+        return rank[node];
+    }
+
+    // Arcs of the upward and downward graphs together, shortcuts included.
+    public int arcs() {
+        return upTargets.length + downSources.length;
+    }
+
+    public int shortcuts() {
+        int count = 0;
+        for (int m : upMiddle) if (m >= 0) count++;
+        for (int m : downMiddle) if (m >= 0) count++;
+        return count;
+    }
+
+    /*
+     * Contracts every node of the graph, cheapest first, and returns the hierarchy. Node
+     * ids stay those of the graph. Costs along a shortcut must fit in an int.
+     */
+    public static ContractionHierarchy build(Graph graph) {
+        return new Contractor(graph).run();
+    }
+
+    // Growable int array for the arcs collected during contraction.
+    private static final class IntList {
+        int[] values = new int[16];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size << 1);
+            values[size++] = value;
+        }
+    }
+
+    private static final class Contractor {
+
+        private final int n;
+        // Remaining graph: per node, (neighbour, weight, middle) triples; contracted neighbours are skipped lazily.
+        private final int[][] out;
+        private final int[][] in;
+        private final int[] outSize;
+        private final int[] inSize;
+        private final boolean[] contracted;
+        private final int[] deleted;        // contracted neighbours, part of the ordering priority
+        private final int[] touched;        // v + 1 once x has been re-evaluated after contracting v
+
+        // Witness search workspace.
+        private final long[] dist;
+        private final int[] stamp;
+        private int generation;
+        private final MinHeap heap;
+
+        // Final arcs: (node stored at, neighbour, weight, middle) for the up and down graphs.
+        private final IntList up = new IntList();
+        private final IntList down = new IntList();
+
+        Contractor(Graph graph) {
+            n = graph.nodes();
+            out = new int[n][];
+            in = new int[n][];
+            outSize = new int[n];
+            inSize = new int[n];
+            contracted = new boolean[n];
+            deleted = new int[n];
+            touched = new int[n];
+            dist = new long[n];
+            stamp = new int[n];
+            heap = new MinHeap(n);
+            for (int u = 0; u < n; u++) {
+                for (int arc = graph.firstArc(u); arc < graph.endArc(u); arc++) {
+                    int v = graph.target(arc);
+                    if (v != u) addArc(u, v, graph.weight(arc), -1);
+                }
+            }
+        }
+
+        ContractionHierarchy run() {
+            MinHeap queue = new MinHeap(n);
+            for (int v = 0; v < n; v++) queue.push(v, priority(v));
+
+            int[] rank = new int[n];
+            int next = 0;
+            while (!queue.isEmpty()) {
+                int v = queue.pop();
+                // Lazy update: priorities go stale as neighbours are contracted.
+                long priority = priority(v);
+                if (!queue.isEmpty() && priority > queue.minKey()) {
+                    queue.push(v, priority);
+                    continue;
+                }
+                rank[v] = next++;
+
+                // Every neighbour still in the graph will rank above v.
+                for (int i = 0; i < outSize[v]; i += 3) {
+                    int w = out[v][i];
+                    if (contracted[w]) continue;
+                    up.add(v);
+                    up.add(w);
+                    up.add(out[v][i + 1]);
+                    up.add(out[v][i + 2]);
+                }
+                for (int i = 0; i < inSize[v]; i += 3) {
+                    int u = in[v][i];
+                    if (contracted[u]) continue;
+                    down.add(v);
+                    down.add(u);
+                    down.add(in[v][i + 1]);
+                    down.add(in[v][i + 2]);
+                }
+
+                contract(v, false);
+                contracted[v] = true;
+                detach(v);
+                // A neighbour joined both ways (every one, on undirected graphs) is in both lists.
+                for (int i = 0; i < outSize[v]; i += 3) reevaluate(queue, v, out[v][i]);
+                for (int i = 0; i < inSize[v]; i += 3) reevaluate(queue, v, in[v][i]);
+                out[v] = null;
+                in[v] = null;
+            }
+
+            int[] upOffsets = new int[n + 1], upTargets = new int[up.size / 4];
+            int[] upWeights = new int[upTargets.length], upMiddle = new int[upTargets.length];
+            group(up, upOffsets, upTargets, upWeights, upMiddle);
+            int[] downOffsets = new int[n + 1], downSources = new int[down.size / 4];
+            int[] downWeights = new int[downSources.length], downMiddle = new int[downSources.length];
+            group(down, downOffsets, downSources, downWeights, downMiddle);
+            return new ContractionHierarchy(rank, upOffsets, upTargets, upWeights, upMiddle,
+                    downOffsets, downSources, downWeights, downMiddle);
+        }
+
+        // Drops v's entries from its neighbours' lists, so later searches do not step over them.
+        private void detach(int v) {
+            for (int i = 0; i < outSize[v]; i += 3) {
+                int w = out[v][i];
+                inSize[w] = remove(in[w], inSize[w], v);
+            }
+            for (int i = 0; i < inSize[v]; i += 3) {
+                int u = in[v][i];
+                outSize[u] = remove(out[u], outSize[u], v);
+            }
+        }
+
+        // Removes every triple for 'node' by moving the last triple into its place; returns the new size.
+        private static int remove(int[] list, int size, int node) {
+            for (int i = 0; i < size; ) {
+                if (list[i] == node) {
+                    size -= 3;
+                    list[i] = list[size];
+                    list[i + 1] = list[size + 1];
+                    list[i + 2] = list[size + 2];
+                } else {
+                    i += 3;
+                }
+            }
+            return size;
+        }
+
+        // Counts v as deleted for x and recomputes x's priority, once per contraction.
+        private void reevaluate(MinHeap queue, int v, int x) {
+            if (touched[x] == v + 1 || contracted[x] || !queue.contains(x)) return;
+            touched[x] = v + 1;
+            deleted[x]++;
+            queue.update(x, priority(x));
+        }
+
+        // Counting sort of (node, neighbour, weight, middle) quadruples into CSR arrays by node.
+        private void group(IntList arcs, int[] offsets, int[] neighbours, int[] weights, int[] middle) {
+            int[] a = arcs.values;
+            for (int i = 0; i < arcs.size; i += 4) offsets[a[i] + 1]++;
+            for (int u = 0; u < n; u++) offsets[u + 1] += offsets[u];
+            int[] next = Arrays.copyOf(offsets, n);
+            for (int i = 0; i < arcs.size; i += 4) {
+                int slot = next[a[i]]++;
+                neighbours[slot] = a[i + 1];
+                weights[slot] = a[i + 2];
+                middle[slot] = a[i + 3];
+            }
+        }
+
+        // Edge difference plus contracted neighbours: prefer nodes whose removal adds little.
+        private long priority(int v) {
+            int removed = 0;
+            for (int i = 0; i < outSize[v]; i += 3) if (!contracted[out[v][i]]) removed++;
+            for (int i = 0; i < inSize[v]; i += 3) if (!contracted[in[v][i]]) removed++;
+            return (long) contract(v, true) - removed + deleted[v];
+        }
+
+        /*
+         * For every pair u -> v -> w of remaining neighbours, adds the shortcut u -> w unless
+         * a witness path avoiding v is no longer. Returns the number of shortcuts needed; with
+         * simulate set, nothing is added.
+         */
+        private int contract(int v, boolean simulate) {
+            long maxOut = 0;
+            for (int i = 0; i < outSize[v]; i += 3) {
+                if (!contracted[out[v][i]]) maxOut = Math.max(maxOut, out[v][i + 1]);
+            }
+            int shortcuts = 0;
+            for (int j = 0; j < inSize[v]; j += 3) {
+                int u = in[v][j];
+                if (contracted[u]) continue;
+                long toV = in[v][j + 1];
+                witness(u, v, toV + maxOut, simulate ? ESTIMATE_SETTLE_LIMIT : WITNESS_SETTLE_LIMIT);
+                for (int i = 0; i < outSize[v]; i += 3) {
+                    int w = out[v][i];
+                    if (contracted[w] || w == u) continue;
+                    long via = toV + out[v][i + 1];
+                    if (stamp[w] == generation && dist[w] <= via) continue;
+                    shortcuts++;
+                    if (!simulate) {
+                        if (via > Integer.MAX_VALUE) {
+                            throw new IllegalStateException("Shortcut " + u + "->" + w + " costs more than an int holds");
+                        }
+                        addArc(u, w, (int) via, v);
+                    }
+                }
+            }
+            return shortcuts;
+        }
+
+        // Dijkstra from source over remaining nodes except 'avoid', up to cost 'limit' or 'maxSettled' nodes.
+        private void witness(int source, int avoid, long limit, int maxSettled) {
+            if (++generation == 0) {
+                Arrays.fill(stamp, 0);
+                generation = 1;
+            }
+            heap.clear();
+            stamp[source] = generation;
+            dist[source] = 0;
+            heap.push(source, 0);
+            for (int settled = 0; !heap.isEmpty() && settled < maxSettled; settled++) {
+                if (heap.minKey() > limit) break;
+                int x = heap.pop();
+                long dx = dist[x];
+                for (int i = 0; i < outSize[x]; i += 3) {
+                    int y = out[x][i];
+                    if (y == avoid || contracted[y]) continue;
+                    long d = dx + out[x][i + 1];
+                    if (stamp[y] != generation || d < dist[y]) {
+                        stamp[y] = generation;
+                        dist[y] = d;
+                        heap.push(y, d);
+                    }
+                }
+            }
+        }
+
+        // Adds u -> w, or lowers the cost of an existing u -> w arc.
+        private void addArc(int u, int w, int weight, int middle) {
+            int[] list = out[u];
+            for (int i = 0; i < outSize[u]; i += 3) {
+                if (list[i] != w) continue;
+                if (list[i + 1] <= weight) return;
+                int[] back = in[w];
+                for (int k = 0; k < inSize[w]; k += 3) {
+                    if (back[k] == u && back[k + 1] == list[i + 1] && back[k + 2] == list[i + 2]) {
+                        back[k + 1] = weight;
+                        back[k + 2] = middle;
+                        break;
+                    }
+                }
+                list[i + 1] = weight;
+                list[i + 2] = middle;
+                return;
+            }
+            out[u] = append(out[u], outSize[u], w, weight, middle);
+            outSize[u] += 3;
+            in[w] = append(in[w], inSize[w], u, weight, middle);
+            inSize[w] += 3;
+        }
+
+        private static int[] append(int[] list, int size, int node, int weight, int middle) {
+            if (list == null) {
+                list = new int[12];
+            } else if (size == list.length) {
+                list = Arrays.copyOf(list, size << 1);
+            }
+            list[size] = node;
+            list[size + 1] = weight;
+            list[size + 2] = middle;
+            return list;
+        }
+    }
+
+    /*
+     * A query workspace: one per thread, reused across queries. Runs a Dijkstra upwards from
+     * the source and one upwards (along reversed downward arcs) from the target; the
+     * shortest path passes through its highest-ranked node, where the two meet.
+     */
+    public static final class Query {
+
+        private final ContractionHierarchy ch;
+        private final int[] distF, distB;
+        private final int[] parentF, parentB;     // previous node on each side, -1 at s / t
+        private final int[] stampF, stampB;
+        private int generation;
+        private final MinHeap forward, backward;
+        private int meeting;
+        private int settled;
+
+        public Query(ContractionHierarchy ch) {
+            this.ch = ch;
+            int n = ch.nodes();
+            distF = new int[n];
+            distB = new int[n];
+            parentF = new int[n];
+            parentB = new int[n];
+            stampF = new int[n];
+            stampB = new int[n];
+            forward = new MinHeap(n);
+            backward = new MinHeap(n);
+        }
+
+        // Nodes settled by the last query, both directions together.
+        public int settled() {
+            return settled;
+        }
+
+        // Cost of a shortest path, or -1 if there is none. Allocates nothing.
+        public int distance(int source, int target) {
+            long best = run(source, target);
+            return best == Long.MAX_VALUE ? -1 : (int) best;
+        }
+
+        // The nodes of a shortest path in the original graph, or null if there is none.
+        public int[] path(int source, int target) {
+            if (run(source, target) == Long.MAX_VALUE) return null;
+
+            IntList nodes = new IntList();
+            IntList chain = new IntList();
+            for (int v = meeting; v >= 0; v = parentF[v]) chain.add(v);
+            nodes.add(source);
+            for (int i = chain.size - 1; i > 0; i--) ch.unpack(chain.values[i], chain.values[i - 1], true, nodes);
+            for (int v = meeting; parentB[v] >= 0; v = parentB[v]) ch.unpack(v, parentB[v], false, nodes);
+            return Arrays.copyOf(nodes.values, nodes.size);
+        }
+
+        private long run(int source, int target) {
+            if (++generation == 0) {
+                Arrays.fill(stampF, 0);
+                Arrays.fill(stampB, 0);
+                generation = 1;
+            }
+            forward.clear();
+            backward.clear();
+            settled = 0;
+            meeting = -1;
+            long best = Long.MAX_VALUE;
+
+            stampF[source] = generation;
+            distF[source] = 0;
+            parentF[source] = -1;
+            forward.push(source, 0);
+            stampB[target] = generation;
+            distB[target] = 0;
+            parentB[target] = -1;
+            backward.push(target, 0);
+
+            while (true) {
+                long f = forward.isEmpty() ? Long.MAX_VALUE : forward.minKey();
+                long b = backward.isEmpty() ? Long.MAX_VALUE : backward.minKey();
+                // Nothing left in either queue can beat the best meeting point.
+                if (Math.min(f, b) >= best) break;
+                settled++;
+                if (f <= b) {
+                    int u = forward.pop();
+                    if (stampB[u] == generation && (long) distF[u] + distB[u] < best) {
+                        best = (long) distF[u] + distB[u];
+                        meeting = u;
+                    }
+                    for (int arc = ch.upOffsets[u]; arc < ch.upOffsets[u + 1]; arc++) {
+                        int v = ch.upTargets[arc];
+                        int d = distF[u] + ch.upWeights[arc];
+                        if (stampF[v] != generation || d < distF[v]) {
+                            stampF[v] = generation;
+                            distF[v] = d;
+                            parentF[v] = u;
+                            forward.push(v, d);
+                        }
+                    }
+                } else {
+                    int u = backward.pop();
+                    if (stampF[u] == generation && (long) distF[u] + distB[u] < best) {
+                        best = (long) distF[u] + distB[u];
+                        meeting = u;
+                    }
+                    for (int arc = ch.downOffsets[u]; arc < ch.downOffsets[u + 1]; arc++) {
+                        int v = ch.downSources[arc];
+                        int d = distB[u] + ch.downWeights[arc];
+                        if (stampB[v] != generation || d < distB[v]) {
+                            stampB[v] = generation;
+                            distB[v] = d;
+                            parentB[v] = u;
+                            backward.push(v, d);
+                        }
+                    }
+                }
+            }
+            return best;
+        }
+    }
+
+    /*
+     * Appends the original nodes of the arc from -> to (excluding 'from') to 'nodes'. The arc
+     * is an upward one if 'upward', else a downward one. A shortcut via m is the downward arc
+     * from -> m followed by the upward arc m -> to, both stored at m; they are expanded in
+     * turn on an explicit stack.
+     */
+    private void unpack(int from, int to, boolean upward, IntList nodes) {
+        IntList stack = new IntList();
+        stack.add(from);
+        stack.add(to);
+        stack.add(upward ? cheapestUp(from, to) : cheapestDown(to, from));
+        stack.add(upward ? 1 : 0);
+        while (stack.size > 0) {
+            stack.size -= 4;
+            int a = stack.values[stack.size], b = stack.values[stack.size + 1];
+            int arc = stack.values[stack.size + 2];
+            int m = stack.values[stack.size + 3] == 1 ? upMiddle[arc] : downMiddle[arc];
+            if (m < 0) {
+                nodes.add(b);
+                continue;
+            }
+            // Second half first, so the first half is expanded first.
+            stack.add(m);
+            stack.add(b);
+            stack.add(cheapestUp(m, b));
+            stack.add(1);
+            stack.add(a);
+            stack.add(m);
+            stack.add(cheapestDown(m, a));
+            stack.add(0);
+        }
+    }
+
+    // Cheapest upward arc u -> v, stored at u.
+    private int cheapestUp(int u, int v) {
+        int best = -1;
+        for (int arc = upOffsets[u]; arc < upOffsets[u + 1]; arc++) {
+            if (upTargets[arc] == v && (best < 0 || upWeights[arc] < upWeights[best])) best = arc;
+        }
+        return best;
+    }
+
+    // Cheapest downward arc u -> v, stored at v.
+    private int cheapestDown(int v, int u) {
+        int best = -1;
+        for (int arc = downOffsets[v]; arc < downOffsets[v + 1]; arc++) {
+            if (downSources[arc] == u && (best < 0 || downWeights[arc] < downWeights[best])) best = arc;
+        }
+        return best;
+    }
+
+    /*
+     * Little-endian: magic, version, nodes, up arcs, down arcs, then the int arrays rank,
+     * upOffsets, upTargets, upWeights, upMiddle, downOffsets, downSources, downWeights,
+     * downMiddle.
+     */
+    public void save(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(nodes()).putInt(upTargets.length).putInt(downSources.length);
+            for (int[] array : arrays()) {
+                for (int value : array) {
+                    if (!buffer.hasRemaining()) drain(channel, buffer);
+                    buffer.putInt(value);
+                }
+            }
+            drain(channel, buffer);
+        }
+    }
+
+    private int[][] arrays() {
+        return new int[][] { rank, upOffsets, upTargets, upWeights, upMiddle,
+                downOffsets, downSources, downWeights, downMiddle };
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    public static ContractionHierarchy load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException(file + " is not a contraction hierarchy file");
+            }
+            ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (data.getInt(0) != MAGIC) {
+                throw new IOException(file + " is not a contraction hierarchy file");
+            }
+            if (data.getInt(4) != VERSION) {
+                throw new IOException(file + " has unsupported hierarchy format version " + data.getInt(4));
+            }
+            int n = data.getInt(8), upArcs = data.getInt(12), downArcs = data.getInt(16);
+            long ints = 3L * n + 2 + 3L * upArcs + 3L * downArcs;
+            if (n < 0 || upArcs < 0 || downArcs < 0 || channel.size() != HEADER_BYTES + 4 * ints) {
+                throw new IOException(file + " is truncated or corrupt: expected " + (HEADER_BYTES + 4 * ints)
+                        + " bytes for " + n + " nodes, found " + channel.size());
+            }
+            data.position(HEADER_BYTES);
+            int[][] arrays = {
+                    new int[n], new int[n + 1], new int[upArcs], new int[upArcs], new int[upArcs],
+                    new int[n + 1], new int[downArcs], new int[downArcs], new int[downArcs] };
+            for (int[] array : arrays) {
+                data.asIntBuffer().get(array);
+                data.position(data.position() + 4 * array.length);
+            }
+            return new ContractionHierarchy(arrays[0], arrays[1], arrays[2], arrays[3], arrays[4],
+                    arrays[5], arrays[6], arrays[7], arrays[8]);
+        }
+    }
+
+    // A road-like test network: a grid of junctions with random travel times and some roads missing.
+    static Graph roadGrid(int side, long seed) {
+        Random random = new Random(seed);
+        Graph.Builder builder = new Graph.Builder();
+        for (int i = 0; i < side * side; i++) builder.addNode(0);
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                int u = r * side + c;
+                if (c + 1 < side && random.nextInt(10) > 0) builder.addEdge(u, u + 1, 10 + random.nextInt(90));
+                if (r + 1 < side && random.nextInt(10) > 0) builder.addEdge(u, u + side, 10 + random.nextInt(90));
+            }
+        }
+        return builder.build();
+    }
+
+    public static void main(String[] args) throws IOException {
+        // usage: ContractionHierarchy [side queries seed] [hierarchy.bin]
+        int side = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+
+        Graph graph = roadGrid(side, seed);
+        long t0 = System.nanoTime();
+        ContractionHierarchy ch = build(graph);
+        System.out.printf("%,d nodes, %,d arcs: contracted in %,d ms, %,d shortcuts%n", graph.nodes(), graph.arcs(),
+                (System.nanoTime() - t0) / 1_000_000, ch.shortcuts());
+        if (args.length > 3) {
+            Path file = Path.of(args[3]);
+            ch.save(file);
+            t0 = System.nanoTime();
+            ch = load(file);
+            System.out.printf("Saved to %s and loaded back in %.1f ms%n", file, (System.nanoTime() - t0) / 1e6);
+        }
+
+        Random random = new Random(seed);
+        int[] queries = new int[2 * count];
+        for (int i = 0; i < queries.length; i++) queries[i] = random.nextInt(graph.nodes());
+
+        // Plain Dijkstra (the heuristic is 0 on this graph) for reference.
+        GraphSearch dijkstra = new GraphSearch(graph);
+        int[] expected = new int[count];
+        long settled = 0;
+        t0 = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            expected[i] = dijkstra.distance(queries[2 * i], queries[2 * i + 1]);
+            settled += dijkstra.expanded();
+        }
+        long dijkstraNs = System.nanoTime() - t0;
+
+        Query query = new Query(ch);
+        for (int i = 0; i < count; i++) query.distance(queries[2 * i], queries[2 * i + 1]);     // warm up
+        long chSettled = 0;
+        t0 = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            if (query.distance(queries[2 * i], queries[2 * i + 1]) != expected[i]) {
+                throw new IllegalStateException("Hierarchy distance differs from Dijkstra for query " + i);
+            }
+            chSettled += query.settled();
+        }
+        long chNs = System.nanoTime() - t0;
+
+        // Unpacked paths must be real paths of the same cost.
+        for (int i = 0; i < Math.min(count, 100); i++) {
+            int[] path = query.path(queries[2 * i], queries[2 * i + 1]);
+            long cost = 0;
+            for (int k = 1; path != null && k < path.length; k++) cost += graph.cost(path[k - 1], path[k]);
+            if (path != null ? cost != expected[i] : expected[i] != -1) {
+                throw new IllegalStateException("Unpacked path of query " + i + " costs " + cost);
+            }
+        }
+
+        System.out.printf("  Dijkstra   %,9.3f ms/query  %,9d nodes settled/query%n", dijkstraNs / 1e6 / count,
+                settled / count);
+        System.out.printf("  hierarchy  %,9.3f ms/query  %,9d nodes settled/query%n", chNs / 1e6 / count,
+                chSettled / count);
+    }
+}
+
+
+/*
+
+# Short problem statement
+
+A\* with a fixed per-node heuristic still settles a large part of a road network on every long query, and the cost grows with distance. **Contraction Hierarchies** (CH) do the expensive work once: nodes are ranked, and shortcuts are added so that every shortest path climbs to its highest-ranked node and then descends. A query then runs two small Dijkstra searches that only climb, one from each end, and settles hundreds of nodes instead of most of the graph.
+
+---
+
+# Preprocessing (`build`)
+
+* **Node order.** Each node's priority is its *edge difference* (shortcuts its contraction would add, minus remaining arcs it would remove) plus the number of neighbours already contracted, which spreads contraction evenly over the map. Priorities live in an indexed `MinHeap`. A popped node is re-evaluated and pushed back if it is no longer the cheapest (lazy update). After a contraction, the node's neighbours are re-evaluated right away with `update`, each once even when it is both an in- and an out-neighbour (a `touched` mark per contraction). On undirected road graphs that halves the priority simulations, and `deleted` counts each contracted neighbour once as intended.
+
+* **Witness searches.** To contract `v`, every remaining in-neighbour `u` runs a Dijkstra that avoids `v`, bounded by the longest `u → v → w` it could have to beat. A shortcut `u → w` is added only when no witness path is as short. The search stops after `WITNESS_SETTLE_LIMIT` settled nodes, which only costs extra shortcuts, never wrong answers. Priority estimates use the smaller `ESTIMATE_SETTLE_LIMIT`, since they run for every neighbour of every contracted node and only need a rough count.
+* **Shortcuts.** A shortcut records the contracted node (`middle`) it bypasses. An existing arc `u → w` is lowered instead of duplicated.
+* **Result.** When `v` is contracted, its arcs to remaining neighbours are final. Arcs to higher nodes form the *upward* graph, stored at `v`. Arcs from higher nodes form the *downward* graph, also stored at `v` by source, so the backward search also walks upwards. Both are CSR arrays like `Graph`. Directed graphs (one-way `addArc`s) are handled, since each direction is contracted separately.
+
+---
+
+# Queries (`Query`)
+
+* A `Query` is a per-thread workspace: distance, parent and generation-stamp arrays for each direction and two `MinHeap`s. `distance` allocates nothing.
+* The forward search relaxes upward arcs from `s` and the backward search relaxes downward arcs (reversed) from `t`, always advancing the side with the smaller key. A node settled on one side that was reached on the other is a candidate meeting point. The search stops once neither queue can beat the best candidate.
+* `path` unpacks each shortcut `u → w` via `m` into the downward arc `u → m` and the upward arc `m → w` (both stored at `m`) on an explicit stack, and returns the original nodes.
+
+---
+
+# File format (`save` / `load`)
+
+| offset | size | field |
+|---|---|---|
+| 0 | 4 | magic `"RTCH"` |
+| 4 | 4 | version (`1`) |
+| 8 | 4 | nodes `n` |
+| 12 | 4 | upward arcs `U` |
+| 16 | 4 | downward arcs `D` |
+| 20 | … | `rank[n]`, `upOffsets[n+1]`, `upTargets[U]`, `upWeights[U]`, `upMiddle[U]`, `downOffsets[n+1]`, `downSources[D]`, `downWeights[D]`, `downMiddle[D]` |
+
+All values are little-endian `int`s. `load` maps the file and bulk-copies each array through an `IntBuffer` view, and checks the magic, the version and the exact file length. Node ids are the graph's, so names still come from the `Graph`.
+
+`main` contracts a road-like grid, checks every query and 100 unpacked paths against Dijkstra (`GraphSearch`), and prints settled nodes and time per query for both.
+
+*/
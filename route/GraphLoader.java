@@ -0,0 +1,326 @@
+package Route_Finding;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+public final class GraphLoader {
+
+    private GraphLoader() {
+    }
+
+    /*
+     * Loads a DIMACS shortest path challenge graph: a .gr file of one-way arcs and, if 'co'
+     * is not null, the matching .co file of coordinates. Node ids in the files start at 1;
+     * in the graph they start at 0. Either file may be gzipped (name ending in .gz).
+     */
+    public static Graph loadDimacs(Path gr, Path co) throws IOException {
+        Graph.Builder builder = null;
+        long expectedArcs = -1;
+        try (Scanner in = new Scanner(gr)) {
+            int c;
+            while ((c = in.read()) >= 0) {
+                switch (c) {
+                    case 'a': {
+                        if (builder == null) throw in.error("arc before the 'p sp' line");
+                        int u = in.readNode(builder.nodes()), v = in.readNode(builder.nodes());
+                        long w = in.readLong();
+                        if (w < 0 || w > Integer.MAX_VALUE) throw in.error("arc cost " + w + " out of range");
+                        builder.addArc(u, v, (int) w);
+                        in.skipLine();
+                        break;
+                    }
+                    case 'p': {
+                        if (builder != null) throw in.error("second 'p' line");
+                        in.expectWord("sp");
+                        long n = in.readLong(), m = in.readLong();
+                        if (n < 1 || n > Integer.MAX_VALUE - 8 || m < 0 || m > Integer.MAX_VALUE - 8) {
+                            throw in.error("bad graph size " + n + " nodes, " + m + " arcs");
+                        }
+                        builder = new Graph.Builder((int) n, (int) m);
+                        builder.addNodes((int) n);
+                        expectedArcs = m;
+                        in.skipLine();
+                        break;
+                    }
+                    case 'c':
+                        in.skipLine();
+                        break;
+                    case '\n':
+                    case '\r':
+                        break;
+                    default:
+                        throw in.error("unexpected '" + (char) c + "' at the start of a line");
+                }
+            }
+            if (builder == null) throw in.error("no 'p sp' line");
+            if (builder.arcs() != expectedArcs) {
+                throw in.error("header promises " + expectedArcs + " arcs, found " + builder.arcs());
+            }
+        }
+        if (co != null) readCoordinates(co, builder);
+        return builder.build();
+    }
+
+    // The .co file: 'p aux sp co n', then 'v id x y' lines.
+    private static void readCoordinates(Path co, Graph.Builder builder) throws IOException {
+        try (Scanner in = new Scanner(co)) {
+            int c;
+            while ((c = in.read()) >= 0) {
+                switch (c) {
+                    case 'v': {
+                        int u = in.readNode(builder.nodes());
+                        long x = in.readLong(), y = in.readLong();
+                        if (x != (int) x || y != (int) y) throw in.error("coordinate out of int range");
+                        builder.setCoordinates(u, (int) x, (int) y);
+                        in.skipLine();
+                        break;
+                    }
+                    case 'p': {
+                        in.expectWord("aux");
+                        in.expectWord("sp");
+                        in.expectWord("co");
+                        long n = in.readLong();
+                        if (n != builder.nodes()) {
+                            throw in.error("coordinates for " + n + " nodes, graph has " + builder.nodes());
+                        }
+                        in.skipLine();
+                        break;
+                    }
+                    case 'c':
+                        in.skipLine();
+                        break;
+                    case '\n':
+                    case '\r':
+                        break;
+                    default:
+                        throw in.error("unexpected '" + (char) c + "' at the start of a line");
+                }
+            }
+        }
+    }
+
+    /*
+     * Loads an edge list with one 'source,target,cost' line per edge. Ids are integers from 0;
+     * the graph gets max id + 1 nodes. Columns may be separated by ',', ';', tabs or spaces,
+     * and extra columns are ignored. A first line that does not start with a number is taken
+     * as a header. Each line is one edge both ways, or one arc if 'directed'.
+     */
+    public static Graph loadCsv(Path csv, boolean directed) throws IOException {
+        Graph.Builder builder = new Graph.Builder();
+        try (Scanner in = new Scanner(csv)) {
+            in.skipBlanks();
+            int first = in.peek();
+            if (first >= 0 && first != '-' && (first < '0' || first > '9')) in.skipLine();
+
+            while (true) {
+                in.skipBlanks();
+                int c = in.peek();
+                if (c < 0) break;
+                if (c == '\n' || c == '\r') {
+                    in.read();
+                    continue;
+                }
+                long u = in.readLong();
+                in.skipSeparator();
+                long v = in.readLong();
+                in.skipSeparator();
+                long w = in.readLong();
+                if (u < 0 || v < 0 || u > Integer.MAX_VALUE - 9 || v > Integer.MAX_VALUE - 9) {
+                    throw in.error("node id out of range");
+                }
+                if (w < 0 || w > Integer.MAX_VALUE) throw in.error("cost " + w + " out of range");
+                long needed = Math.max(u, v) + 1;
+                if (needed > builder.nodes()) builder.addNodes((int) (needed - builder.nodes()));
+                if (directed) {
+                    builder.addArc((int) u, (int) v, (int) w);
+                } else {
+                    builder.addEdge((int) u, (int) v, (int) w);
+                }
+                in.skipLine();
+            }
+        }
+        return builder.build();
+    }
+
+    /*
+     * Reads bytes through its own 64 KB buffer and parses numbers digit by digit, so no
+     * String or boxed number is created per line. Tracks the line number for error messages.
+     */
+    private static final class Scanner implements AutoCloseable {
+
+        private final Path file;
+        private final InputStream in;
+        private final byte[] buffer = new byte[1 << 16];
+        private int position;
+        private int limit;
+        private long line = 1;
+
+        Scanner(Path file) throws IOException {
+            this.file = file;
+            InputStream raw = Files.newInputStream(file);
+            in = file.toString().endsWith(".gz") ? new GZIPInputStream(raw, 1 << 16) : raw;
+        }
+
+        int peek() throws IOException {
+            if (position == limit && !fill()) return -1;
+            return buffer[position] & 0xFF;
+        }
+
+        int read() throws IOException {
+            if (position == limit && !fill()) return -1;
+            int c = buffer[position++] & 0xFF;
+            if (c == '\n') line++;
+            return c;
+        }
+
+        private boolean fill() throws IOException {
+            int n = in.read(buffer, 0, buffer.length);
+            if (n <= 0) return false;
+            position = 0;
+            limit = n;
+            return true;
+        }
+
+        // Skips spaces and tabs, not line ends.
+        void skipBlanks() throws IOException {
+            int c;
+            while ((c = peek()) == ' ' || c == '\t') position++;
+        }
+
+        void skipSeparator() throws IOException {
+            skipBlanks();
+            int c = peek();
+            if (c == ',' || c == ';') {
+                position++;
+                skipBlanks();
+            }
+        }
+
+        // Skips to just past the next '\n'.
+        void skipLine() throws IOException {
+            while (true) {
+                if (position == limit && !fill()) return;
+                // Scan the buffer directly; this is the hot loop for comments and trailing columns.
+                for (int i = position; i < limit; i++) {
+                    if (buffer[i] == '\n') {
+                        position = i + 1;
+                        line++;
+                        return;
+                    }
+                }
+                position = limit;
+            }
+        }
+
+        long readLong() throws IOException {
+            skipBlanks();
+            boolean negative = false;
+            int c = peek();
+            if (c == '-') {
+                negative = true;
+                position++;
+                c = peek();
+            }
+            if (c < '0' || c > '9') throw error("expected a number");
+            long value = 0;
+            while (c >= '0' && c <= '9') {
+                if (value > (Long.MAX_VALUE - 9) / 10) throw error("number too large");
+                value = value * 10 + (c - '0');
+                position++;
+                c = peek();
+            }
+            return negative ? -value : value;
+        }
+
+        // A DIMACS node id (1-based) as a 0-based index below 'nodes'.
+        int readNode(int nodes) throws IOException {
+            long id = readLong();
+            if (id < 1 || id > nodes) throw error("node " + id + " outside 1.." + nodes);
+            return (int) (id - 1);
+        }
+
+        void expectWord(String word) throws IOException {
+            skipBlanks();
+            for (int i = 0; i < word.length(); i++) {
+                if (peek() != word.charAt(i)) throw error("expected '" + word + "'");
+                position++;
+            }
+        }
+
+        IOException error(String message) {
+            return new IOException(file + ":" + line + ": " + message);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        // usage: GraphLoader dimacs <graph.gr[.gz]> [coords.co[.gz]] | GraphLoader csv <edges.csv> [--directed]
+        Graph graph;
+        long t0 = System.nanoTime();
+        if (args.length >= 2 && args[0].equals("dimacs")) {
+            graph = loadDimacs(Path.of(args[1]), args.length > 2 ? Path.of(args[2]) : null);
+        } else if (args.length >= 2 && args[0].equals("csv")) {
+            graph = loadCsv(Path.of(args[1]), args.length > 2 && args[2].equals("--directed"));
+        } else {
+            System.err.println("usage: GraphLoader dimacs <graph.gr> [coords.co] | GraphLoader csv <edges.csv> [--directed]");
+            System.exit(2);
+            return;
+        }
+        long ns = System.nanoTime() - t0;
+        Runtime runtime = Runtime.getRuntime();
+        System.out.printf("%s: %,d nodes, %,d arcs%s in %,d ms (%,d MB heap in use)%n", args[1], graph.nodes(),
+                graph.arcs(), graph.hasCoordinates() ? " with coordinates" : "", ns / 1_000_000,
+                (runtime.totalMemory() - runtime.freeMemory()) >> 20);
+
+        if (graph.nodes() > 1) {
+            GraphSearch search = new GraphSearch(graph);
+            // Report the nodes by their ids in the file: DIMACS counts from 1, CSV from 0.
+            int firstId = args[0].equals("dimacs") ? 1 : 0;
+            t0 = System.nanoTime();
+            int cost = search.distance(0, graph.nodes() - 1);
+            System.out.printf("Dijkstra from %s node %d to node %d: cost %d, %,d nodes settled, %,d ms%n",
+                    args[0], firstId, firstId + graph.nodes() - 1, cost, search.expanded(),
+                    (System.nanoTime() - t0) / 1_000_000);
+        }
+    }
+}
+
+
+/*
+
+# Short problem statement
+
+Route-finding graphs could only be typed into `main()` as `addNode`/`addEdge` calls. `GraphLoader` reads real road networks: the DIMACS shortest path challenge files (`.gr` arcs, `.co` coordinates) and plain CSV edge lists. Both are parsed in one pass straight into `Graph.Builder`'s `int` arrays, so loading does not create a `String` per line.
+
+---
+
+# Formats
+
+| file | lines |
+|---|---|
+| DIMACS `.gr` | `c …` comment, `p sp <nodes> <arcs>` once, `a <from> <to> <cost>` per one-way arc; ids from 1 |
+| DIMACS `.co` | `c …`, `p aux sp co <nodes>`, `v <id> <x> <y>`; coordinates are integers (degrees × 10⁶) |
+| CSV | optional header, then `source,target,cost[,…]`; ids from 0, separators `,` `;` tab or space |
+
+Files ending in `.gz` are decompressed on the fly, as the DIMACS downloads are gzipped.
+
+---
+
+# How it works
+
+* **Scanner.** A private byte-level tokenizer over a 64 KB `byte[]`. `read`/`peek` work on bytes, and `readLong` accumulates digits directly. `skipLine` scans the buffer for `'\n'` in a tight loop. Errors name the file and line: `road.gr:1042: node 0 outside 1..264346`.
+* **DIMACS.** The first byte of each line selects the record type. The `p` line gives both counts, so the builder is sized once (`new Graph.Builder(nodes, arcs)` and `addNodes`) and never grows. The arc count is checked at the end. Arcs are added one-way, as the format defines them (road files list both directions). The `.co` file then fills `setCoordinates`, and the built `Graph` keeps them (`x(u)`, `y(u)`) for geometric heuristics.
+* **CSV.** The node count is not known up front, so nodes are added as larger ids appear and the arc arrays grow by doubling. Edges are undirected unless `directed` is passed.
+* **Memory.** While building, the builder holds 12 bytes per arc, and `build()` adds the 8-byte-per-arc CSR arrays. That is about 1.2 GB at the peak for the 58M-arc USA graph, and 480 MB once the builder is dropped. Run the full USA graph with `-Xmx2g` or more.
+
+`main` loads a file, prints its size, load time and heap in use, and runs one Dijkstra from the first node to the last as a smoke test. The two nodes are printed with the file's own ids, so `1` to `n` for DIMACS and `0` to `n - 1` for CSV.
+
+
+*/
@@ -0,0 +1,177 @@
+package Route_Finding;
+
+import java.util.*;
+
+public final class GraphSearch {
+
+    private final Graph graph;
+
+    // Per-node search state, valid only where stamp[node] == generation.
+    private final int[] g;
+    private final int[] parent;    // predecessor on the path found, -1 at the start
+    private final int[] stamp;
+    private final int[] closed;    // == generation once the node is settled
+    private int generation;
+
+    private final MinHeap open;
+
+    // Nodes in the order they were settled by the last query.
+    private final int[] order;
+    private int expanded;
+
+    public GraphSearch(Graph graph) {
+        this.graph = graph;
+        int nodes = graph.nodes();
+        g = new int[nodes];
+        parent = new int[nodes];
+        stamp = new int[nodes];
+        closed = new int[nodes];
+        order = new int[nodes];
+        open = new MinHeap(nodes);
+    }
+
+    public Graph graph() {
+        return graph;
+    }
+
+    // Nodes settled by the last query, the goal included if it was reached.
+    public int expanded() {
+        return expanded;
+    }
+
+    // The i-th node settled by the last query.
+    public int settled(int i) {
+        return order[i];
+    }
+
+    // Cost of the path to the node found by the last query, or -1 if it was not reached.
+    public int g(int node) {
+        return stamp[node] == generation ? g[node] : -1;
+    }
+
+    private void newQuery() {
+        if (++generation == 0) {
+            Arrays.fill(stamp, 0);
+            Arrays.fill(closed, 0);
+            generation = 1;
+        }
+        open.clear();
+        expanded = 0;
+    }
+
+    private void reach(int node, int cost, int from) {
+        stamp[node] = generation;
+        g[node] = cost;
+        parent[node] = from;
+    }
+
+    /*
+     * A* with the graph's per-node heuristic. Returns the nodes of a path from start to goal
+     * (both included), or null if there is none. The path is a shortest one when the
+     * heuristic never overestimates; like the original, settled nodes are never reopened.
+     */
+    public int[] aStar(int start, int goal) {
+        return run(start, goal, null) ? path(goal) : null;
+    }
+
+    // The same search, but only the cost: -1 if there is no path. Allocates nothing.
+    public int distance(int start, int goal) {
+        return run(start, goal, null) ? g[goal] : -1;
+    }
+
+    // A* with landmark lower bounds (ALT) instead of the per-node table: exact for any goal.
+    public int[] aStar(int start, int goal, Landmarks landmarks) {
+        return run(start, goal, landmarks) ? path(goal) : null;
+    }
+
+    public int distance(int start, int goal, Landmarks landmarks) {
+        return run(start, goal, landmarks) ? g[goal] : -1;
+    }
+
+    private int heuristic(int node, int goal, Landmarks landmarks) {
+        return landmarks == null ? graph.heuristic(node) : landmarks.lowerBound(node, goal);
+    }
+
+    private boolean run(int start, int goal, Landmarks landmarks) {
+        newQuery();
+        reach(start, 0, -1);
+        open.push(start, key(0, heuristic(start, goal, landmarks)));
+
+        while (!open.isEmpty()) {
+            int u = open.pop();
+            closed[u] = generation;
+            order[expanded++] = u;
+            if (u == goal) return true;
+
+            int gu = g[u];
+            for (int arc = graph.firstArc(u), end = graph.endArc(u); arc < end; arc++) {
+                int v = graph.target(arc);
+                if (closed[v] == generation) continue;
+                int tentative = gu + graph.weight(arc);
+                if (stamp[v] != generation || tentative < g[v]) {
+                    reach(v, tentative, u);
+                    open.push(v, key(tentative, heuristic(v, goal, landmarks)));
+                }
+            }
+        }
+        return false;
+    }
+
+    // Orders by f = g + h, and among equal f by the smaller h (the deeper node).
+    private static long key(int g, int h) {
+        return ((long) g + h) << 32 | h;
+    }
+
+    /*
+     * Greedy best-first search: always settles the discovered node with the smallest
+     * heuristic and never reopens one. The path it returns need not be the cheapest;
+     * g(goal) is its cost.
+     */
+    public int[] bestFirst(int start, int goal) {
+        newQuery();
+        reach(start, 0, -1);
+        open.push(start, graph.heuristic(start));
+
+        while (!open.isEmpty()) {
+            int u = open.pop();
+            closed[u] = generation;
+            order[expanded++] = u;
+            if (u == goal) return path(goal);
+
+            for (int arc = graph.firstArc(u), end = graph.endArc(u); arc < end; arc++) {
+                int v = graph.target(arc);
+                if (stamp[v] == generation) continue;     // already queued or settled
+                reach(v, g[u] + graph.weight(arc), u);
+                open.push(v, graph.heuristic(v));
+            }
+        }
+        return null;
+    }
+
+    private int[] path(int end) {
+        int length = 0;
+        for (int v = end; v >= 0; v = parent[v]) length++;
+        int[] path = new int[length];
+        for (int v = end, i = length - 1; v >= 0; v = parent[v], i--) path[i] = v;
+        return path;
+    }
+}
+
+
+/*
+
+# Short problem statement
+
+`RouteFindingAStar` and `RouteFindingBestFirst` kept their search state in `HashMap<String, …>`s and pushed a new `State` object for every improved neighbour. `GraphSearch` runs both searches on the CSR `Graph` with flat `int` arrays, and once constructed it allocates nothing per relaxed edge. Only the returned path is allocated.
+
+---
+
+# How it works
+
+* **Workspace.** `g`, `parent`, `stamp` and `closed` are `int[]`s indexed by node id, and the open list is an indexed `MinHeap`. As in `Maze.GridSearch`, a query starts by bumping `generation`, so entries from earlier queries become stale without being cleared. One `GraphSearch` answers any number of queries, one at a time. Give each thread its own over a shared `Graph`.
+* **A\*.** The heap key is `f << 32 | h`: lowest `f` first, and the node nearer the goal among equal `f`. A better path to a queued node lowers its key in place (decrease-key), so nothing stale is ever popped. Settled nodes are not reopened, as in the original code, which is exact for the consistent straight-line heuristic of the example.
+* **Landmarks.** The `Landmarks` overloads take `h` from `lowerBound(v, goal)`, which is consistent for every goal, so the first time the goal is settled its path is a shortest one.
+* **Greedy best-first.** Keys are `h` alone. A node is queued once, by the first neighbour that reaches it, and its `g` is the cost along that path. The original reassigned `parent` on every push, so its printed path and cost could disagree; here they always match.
+* **Tracing.** `settled(i)` for `i < expanded()` gives the order nodes were settled in. `g(node)` gives their costs, which is what the `main`s print as `Visited:` lines.
+
+*/
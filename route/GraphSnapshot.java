@@ -0,0 +1,341 @@
+package Route_Finding;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.CRC32C;
+
+public final class GraphSnapshot {
+
+    static final int MAGIC = 0x48505247;    // "GRPH" as little-endian bytes
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 64;
+
+    static final int HAS_HEURISTIC = 1;
+    static final int HAS_COORDINATES = 2;
+    static final int HAS_NAMES = 4;
+
+    private GraphSnapshot() {
+    }
+
+    /*
+     * Header (little-endian): magic, version, flags, nodes, arcs, 4 reserved bytes, data
+     * length (long), CRC32C of the data (long), zeros up to 64 bytes. Data: offsets[n + 1],
+     * targets[arcs], weights[arcs], then heuristic[n], x[n] and y[n], and the names as a
+     * bitset of named nodes, nameOffsets[n + 1] and UTF-8 bytes, each only if its flag is set.
+     * Unnamed nodes get no bytes and stay unnamed when opened.
+     */
+    public static void save(Graph graph, Path file) throws IOException {
+        int n = graph.nodes();
+        int flags = (graph.hasHeuristic() ? HAS_HEURISTIC : 0) | (graph.hasCoordinates() ? HAS_COORDINATES : 0)
+                | (graph.hasNames() ? HAS_NAMES : 0);
+        byte[][] names = null;
+        int[] named = null;
+        if (graph.hasNames()) {
+            names = new byte[n][];
+            named = new int[(n + 31) >>> 5];
+            for (int u = 0; u < n; u++) {
+                if (graph.isNamed(u)) {
+                    names[u] = graph.name(u).getBytes(StandardCharsets.UTF_8);
+                    named[u >>> 5] |= 1 << u;
+                } else {
+                    names[u] = new byte[0];
+                }
+            }
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.position(HEADER_BYTES);
+            Writer out = new Writer(channel);
+            for (int u = 0; u <= n; u++) out.putInt(u < n ? graph.firstArc(u) : graph.arcs());
+            for (int arc = 0; arc < graph.arcs(); arc++) out.putInt(graph.target(arc));
+            for (int arc = 0; arc < graph.arcs(); arc++) out.putInt(graph.weight(arc));
+            if ((flags & HAS_HEURISTIC) != 0) {
+                for (int u = 0; u < n; u++) out.putInt(graph.heuristic(u));
+            }
+            if ((flags & HAS_COORDINATES) != 0) {
+                for (int u = 0; u < n; u++) out.putInt(graph.x(u));
+                for (int u = 0; u < n; u++) out.putInt(graph.y(u));
+            }
+            if (names != null) {
+                for (int bits : named) out.putInt(bits);
+                int offset = 0;
+                out.putInt(0);
+                for (byte[] name : names) out.putInt(offset += name.length);
+                for (byte[] name : names) out.putBytes(name);
+                // Pad the file to a whole number of ints.
+                while ((offset++ & 3) != 0) out.putBytes(new byte[1]);
+            }
+            out.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(flags).putInt(n).putInt(graph.arcs()).putInt(0)
+                    .putLong(out.written).putLong(out.crc.getValue());
+            header.clear();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        }
+    }
+
+    // Streams the data section through a 1 MB buffer and checksums it on the way.
+    private static final class Writer {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+        private final CRC32C crc = new CRC32C();
+        private long written;
+
+        Writer(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void putInt(int value) throws IOException {
+            if (buffer.remaining() < 4) flush();
+            buffer.putInt(value);
+        }
+
+        void putBytes(byte[] bytes) throws IOException {
+            for (int i = 0; i < bytes.length; ) {
+                if (!buffer.hasRemaining()) flush();
+                int length = Math.min(bytes.length - i, buffer.remaining());
+                buffer.put(bytes, i, length);
+                i += length;
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            written += buffer.remaining();
+            crc.update(buffer.duplicate());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    /*
+     * Maps a snapshot read-only and returns a Graph that reads the file in place. Only the
+     * header is checked (and node names decoded, if the snapshot has any); call verify() to
+     * check the checksum. The mapping stays valid after the channel is closed.
+     */
+    public static Graph open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = readHeader(channel, file);
+            int flags = header.getInt(8), n = header.getInt(12), arcs = header.getInt(16);
+
+            long position = HEADER_BYTES;
+            IntBuffer offsets = map(channel, position, n + 1L);
+            position += 4L * (n + 1);
+            IntBuffer targets = map(channel, position, arcs);
+            position += 4L * arcs;
+            IntBuffer weights = map(channel, position, arcs);
+            position += 4L * arcs;
+
+            IntBuffer heuristic = null, xs = null, ys = null;
+            if ((flags & HAS_HEURISTIC) != 0) {
+                heuristic = map(channel, position, n);
+                position += 4L * n;
+            }
+            if ((flags & HAS_COORDINATES) != 0) {
+                xs = map(channel, position, n);
+                position += 4L * n;
+                ys = map(channel, position, n);
+                position += 4L * n;
+            }
+            String[] names = null;
+            Map<String, Integer> ids = new HashMap<>();
+            if ((flags & HAS_NAMES) != 0) {
+                IntBuffer named = map(channel, position, (n + 31) >>> 5);
+                position += 4L * ((n + 31) >>> 5);
+                IntBuffer nameOffsets = map(channel, position, n + 1L);
+                position += 4L * (n + 1);
+                ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, position, nameOffsets.get(n));
+                names = new String[n];
+                byte[] scratch = new byte[64];
+                for (int u = 0; u < n; u++) {
+                    if ((named.get(u >>> 5) & (1 << u)) == 0) continue;
+                    int start = nameOffsets.get(u), length = nameOffsets.get(u + 1) - start;
+                    if (scratch.length < length) scratch = new byte[length];
+                    bytes.get(start, scratch, 0, length);
+                    names[u] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+                    ids.put(names[u], u);
+                }
+            }
+            if (offsets.get(n) != arcs) {
+                throw new IOException(file + " is corrupt: offsets end at " + offsets.get(n) + ", not " + arcs);
+            }
+            return new Graph(offsets, targets, weights, heuristic, names, ids, xs, ys);
+        }
+    }
+
+    // Reads the whole data section and compares its CRC32C with the header.
+    public static void verify(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = readHeader(channel, file);
+            CRC32C crc = new CRC32C();
+            long length = header.getLong(24);
+            for (long done = 0; done < length; ) {
+                long chunk = Math.min(1L << 30, length - done);
+                crc.update(channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + done, chunk));
+                done += chunk;
+            }
+            if (crc.getValue() != header.getLong(32)) {
+                throw new IOException(file + " is corrupt: checksum mismatch");
+            }
+        }
+    }
+
+    private static ByteBuffer readHeader(FileChannel channel, Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining() && channel.read(header) >= 0) {
+        }
+        if (header.hasRemaining() || header.getInt(0) != MAGIC) {
+            throw new IOException(file + " is not a graph snapshot");
+        }
+        if (header.getInt(4) != VERSION) {
+            throw new IOException(file + " has unsupported snapshot version " + header.getInt(4));
+        }
+        int n = header.getInt(12), arcs = header.getInt(16);
+        long length = header.getLong(24);
+        if (n < 0 || arcs < 0 || length < 4L * (n + 1 + 2L * arcs)) {
+            throw new IOException(file + " has a bad header: " + n + " nodes, " + arcs + " arcs, " + length + " bytes");
+        }
+        if (channel.size() != HEADER_BYTES + length) {
+            throw new IOException(file + " is truncated: expected " + (HEADER_BYTES + length) + " bytes, found "
+                    + channel.size());
+        }
+        return header;
+    }
+
+    // One array of the data section as a read-only little-endian IntBuffer over the file.
+    private static IntBuffer map(FileChannel channel, long position, long ints) throws IOException {
+        if (4 * ints > Integer.MAX_VALUE) {
+            throw new IOException("Array of " + ints + " ints is too large to map in one piece");
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, 4 * ints).order(ByteOrder.LITTLE_ENDIAN)
+                .asIntBuffer();
+    }
+
+    public static void main(String[] args) throws IOException {
+        // usage: GraphSnapshot [side] | GraphSnapshot save <graph.gr[.gz]> [coords.co[.gz]] <snapshot.bin>
+        //        | GraphSnapshot info <snapshot.bin>
+        if (args.length >= 3 && args[0].equals("save")) {
+            Path out = Path.of(args[args.length - 1]);
+            long t0 = System.nanoTime();
+            Graph graph = GraphLoader.loadDimacs(Path.of(args[1]), args.length > 3 ? Path.of(args[2]) : null);
+            long loaded = System.nanoTime() - t0;
+            t0 = System.nanoTime();
+            save(graph, out);
+            System.out.printf("Parsed %,d nodes, %,d arcs in %,d ms; wrote %s in %,d ms%n", graph.nodes(), graph.arcs(),
+                    loaded / 1_000_000, out, (System.nanoTime() - t0) / 1_000_000);
+        } else if (args.length == 2 && args[0].equals("info")) {
+            Path file = Path.of(args[1]);
+            long t0 = System.nanoTime();
+            Graph graph = open(file);
+            long opened = System.nanoTime() - t0;
+            t0 = System.nanoTime();
+            verify(file);
+            long verified = System.nanoTime() - t0;
+            System.out.printf("%s: %,d nodes, %,d arcs%s; opened in %.3f ms, checksum verified in %,d ms%n", file,
+                    graph.nodes(), graph.arcs(), graph.hasCoordinates() ? " with coordinates" : "", opened / 1e6,
+                    verified / 1_000_000);
+        } else if (args.length <= 1) {
+            roundTrip(args.length > 0 ? Integer.parseInt(args[0]) : 300);
+        } else {
+            System.err.println("usage: GraphSnapshot [side] | GraphSnapshot save <graph.gr> [coords.co] <snapshot.bin>"
+                    + " | GraphSnapshot info <snapshot.bin>");
+            System.exit(2);
+        }
+    }
+
+    // Rebuild against reopen for a road-like grid, checking that both give the same distances.
+    private static void roundTrip(int side) throws IOException {
+        long t0 = System.nanoTime();
+        Graph built = ContractionHierarchy.roadGrid(side, 1);
+        long buildNs = System.nanoTime() - t0;
+        Path file = Files.createTempFile("graph", ".snapshot");
+        try {
+            save(built, file);
+            t0 = System.nanoTime();
+            Graph opened = open(file);
+            long openNs = System.nanoTime() - t0;
+            t0 = System.nanoTime();
+            verify(file);
+            long verifyNs = System.nanoTime() - t0;
+            System.out.printf("%,d nodes, %,d arcs, %,d byte snapshot%n", built.nodes(), built.arcs(), Files.size(file));
+            System.out.printf("  build %,d ms, open %.3f ms, verify %.3f ms%n", buildNs / 1_000_000, openNs / 1e6,
+                    verifyNs / 1e6);
+
+            GraphSearch onHeap = new GraphSearch(built), mapped = new GraphSearch(opened);
+            Random random = new Random(1);
+            int queries = 200;
+            long heapNs = 0, mappedNs = 0;
+            for (int i = 0; i < queries; i++) {
+                int s = random.nextInt(built.nodes()), t = random.nextInt(built.nodes());
+                t0 = System.nanoTime();
+                int expected = onHeap.distance(s, t);
+                heapNs += System.nanoTime() - t0;
+                t0 = System.nanoTime();
+                int actual = mapped.distance(s, t);
+                mappedNs += System.nanoTime() - t0;
+                if (actual != expected) {
+                    throw new IllegalStateException("Query " + i + ": snapshot gives " + actual + ", built graph " + expected);
+                }
+            }
+            System.out.printf("  Dijkstra %.3f ms/query on the heap, %.3f ms/query mapped (%d queries agree)%n",
+                    heapNs / 1e6 / queries, mappedNs / 1e6 / queries, queries);
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
+
+
+/*
+
+# Short problem statement
+
+Parsing a road graph and building its CSR arrays takes seconds, and every restart of a service that routes on it paid that again. `GraphSnapshot` saves a built `Graph` as its arrays in a binary file. `open` maps the file and hands the mapped regions to `Graph` as `IntBuffer`s, so there is nothing to deserialize: opening takes as long as reading a 64-byte header. Every JVM on the host that opens the same file shares one copy in the page cache.
+
+---
+
+# Format
+
+| offset | size | field |
+|---|---|---|
+| 0 | 4 | magic `"GRPH"` |
+| 4 | 4 | version (`1`) |
+| 8 | 4 | flags: 1 = heuristic, 2 = coordinates, 4 = names |
+| 12 | 4 | nodes `n` |
+| 16 | 4 | arcs `m` |
+| 20 | 4 | reserved |
+| 24 | 8 | data length in bytes |
+| 32 | 8 | CRC32C of the data |
+| 40 | 24 | reserved (zero) |
+| 64 | … | `offsets[n+1]`, `targets[m]`, `weights[m]`, then if flagged `heuristic[n]`, `x[n]` and `y[n]`, and `named[⌈n/32⌉]` (bit `u` set if node `u` has a name), `nameOffsets[n+1]` and the UTF-8 name bytes |
+
+All values are little-endian, which is the native order on x86 and ARM, so mapped reads need no byte swapping. The header is 64 bytes and every array is a whole number of ints, so all of them stay 4-byte aligned.
+
+---
+
+# How it works
+
+* **Save.** The arrays are streamed through a 1 MB direct buffer, and each flush also updates a `CRC32C` (hardware-accelerated on current CPUs). The header goes in last, at offset 0, once the length and the checksum are known.
+* **Open.** The header is checked: magic, version, sizes against the file length. Then each array is mapped as its own read-only `MappedByteBuffer` viewed as an `IntBuffer`, and the `Graph` reads them in place. Pages are loaded by the searches that touch them. `GraphSearch`, `Landmarks` and `ContractionHierarchy` work unchanged. Node names, when present, are the one part decoded on open; road graphs have none. A graph may name only some of its nodes. The `named` bitset keeps the rest unnamed, so `id("5")` fails on the opened graph just as on the built one, instead of finding the fallback name `name(5)` prints. Empty names are still names.
+
+* **Verify.** `open` does not read the data, so it cannot notice corruption. `verify` reads the whole data section once, a gigabyte at a time, and compares the checksum, which also warms the page cache. Run it after copying a snapshot, or once at service start if the extra read is affordable.
+* **Limits.** One mapping covers at most 2 GB, so one array can hold at most about 536 million entries. That is enough for the 58M-arc USA graph, whose snapshot is about 760 MB with coordinates. Larger graphs would need `MemorySegment` mappings, which are final from Java 22.
+
+`main` with no file arguments saves and reopens a road-like grid, times rebuild against open, and checks that queries on both agree. `main save` converts a DIMACS graph (see `GraphLoader`) to a snapshot. `main info` opens one, times it, and verifies its checksum.
+
+*/
@@ -0,0 +1,283 @@
+package Route_Finding;
+
+import java.util.*;
+
+public final class Landmarks {
+
+    /*
+     * FARTHEST: each new landmark is the node farthest from the ones chosen so far.
+     * AVOID: each new landmark sits in the region where the current bounds are worst
+     * (Goldberg and Harrelson's "avoid" rule); usually tighter bounds for the same count.
+     */
+    public enum Selection { FARTHEST, AVOID }
+
+    static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final Graph graph;
+    private final int count;
+    private final int[] landmarks;
+    // Node-major tables: from[v * count + i] = d(landmark i, v), to[v * count + i] = d(v, landmark i).
+    private final int[] from;
+    private final int[] to;
+
+    private Landmarks(Graph graph, int[] landmarks, int[][] fromRows, int[][] toRows) {
+        this.graph = graph;
+        this.count = landmarks.length;
+        this.landmarks = landmarks;
+        int n = graph.nodes();
+        from = new int[n * count];
+        to = new int[n * count];
+        for (int i = 0; i < count; i++) {
+            for (int v = 0; v < n; v++) {
+                from[v * count + i] = fromRows[i][v];
+                to[v * count + i] = toRows[i][v];
+            }
+        }
+    }
+
+    public Graph graph() {
+        return graph;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public int landmark(int i) {
+        return landmarks[i];
+    }
+
+    /*
+     * A lower bound on the cost from v to t by the triangle inequality, for any v and t:
+     * d(v, t) >= d(L, t) - d(L, v) and d(v, t) >= d(v, L) - d(t, L) for every landmark L.
+     * The maximum over landmarks is a consistent A* heuristic.
+     */
+    public int lowerBound(int v, int t) {
+        int best = 0;
+        int a = v * count, b = t * count;
+        for (int i = 0; i < count; i++) {
+            int lv = from[a + i], lt = from[b + i];
+            if (lv != UNREACHABLE && lt != UNREACHABLE && lt - lv > best) best = lt - lv;
+            int vl = to[a + i], tl = to[b + i];
+            if (vl != UNREACHABLE && tl != UNREACHABLE && vl - tl > best) best = vl - tl;
+        }
+        return best;
+    }
+
+    /*
+     * Picks 'count' landmarks and computes their distance tables: one Dijkstra from each
+     * landmark on the graph and one on the reversed graph. The seed picks the starting node,
+     * so the same arguments give the same landmarks.
+     */
+    public static Landmarks select(Graph graph, int count, Selection selection, long seed) {
+        int n = graph.nodes();
+        if (count < 1 || count > n) {
+            throw new IllegalArgumentException("Need 1.." + n + " landmarks, got " + count);
+        }
+        Graph reversed = graph.reversed();
+        Random random = new Random(seed);
+        MinHeap heap = new MinHeap(n);
+        int[] order = new int[n];
+        int[] parent = new int[n];
+
+        int[] chosen = new int[count];
+        int[][] fromRows = new int[count][n];
+        int[][] toRows = new int[count][n];
+
+        // The first landmark is the node farthest from a random one.
+        int[] scratch = new int[n];
+        int settled = dijkstra(graph, random.nextInt(n), scratch, heap, order, null);
+        int first = order[0];
+        for (int k = 0; k < settled; k++) {
+            if (scratch[order[k]] > scratch[first]) first = order[k];
+        }
+
+        for (int i = 0; i < count; i++) {
+            int landmark;
+            if (i == 0) {
+                landmark = first;
+            } else if (selection == Selection.AVOID) {
+                landmark = avoid(graph, chosen, fromRows, toRows, i, random.nextInt(n), heap, order, parent, scratch);
+            } else {
+                landmark = farthest(fromRows, i, n);
+            }
+            chosen[i] = landmark;
+            dijkstra(graph, landmark, fromRows[i], heap, order, null);
+            dijkstra(reversed, landmark, toRows[i], heap, order, null);
+        }
+        return new Landmarks(graph, chosen, fromRows, toRows);
+    }
+
+    // The node whose nearest landmark is farthest away; nodes no landmark reaches come first.
+    private static int farthest(int[][] fromRows, int chosen, int n) {
+        int best = 0;
+        long bestDistance = -1;
+        for (int v = 0; v < n; v++) {
+            long nearest = Long.MAX_VALUE;
+            for (int i = 0; i < chosen; i++) nearest = Math.min(nearest, fromRows[i][v]);
+            if (nearest > bestDistance) {
+                bestDistance = nearest;
+                best = v;
+            }
+        }
+        return best;
+    }
+
+    /*
+     * Grows a shortest path tree from 'root' and weighs each node by how much the current
+     * landmarks underestimate its distance from the root. Subtrees that contain a landmark
+     * weigh nothing. From the heaviest node, the walk goes down to the heaviest child until it
+     * reaches a leaf, which becomes the next landmark.
+     */
+    private static int avoid(Graph graph, int[] chosen, int[][] fromRows, int[][] toRows, int count, int root,
+                             MinHeap heap, int[] order, int[] parent, int[] dist) {
+        int n = graph.nodes();
+        int settled = dijkstra(graph, root, dist, heap, order, parent);
+        Landmarks current = new Landmarks(graph, Arrays.copyOf(chosen, count), Arrays.copyOf(fromRows, count),
+                Arrays.copyOf(toRows, count));
+
+        long[] size = new long[n];
+        boolean[] covered = new boolean[n];
+        for (int i = 0; i < count; i++) covered[chosen[i]] = true;
+        // Reverse settle order visits children before parents.
+        for (int k = settled - 1; k >= 0; k--) {
+            int v = order[k];
+            if (!covered[v]) size[v] += dist[v] - current.lowerBound(root, v);
+            int p = parent[v];
+            if (p < 0) continue;
+            if (covered[v]) {
+                covered[p] = true;
+            } else if (!covered[p]) {
+                size[p] += size[v];
+            }
+        }
+        for (int k = 0; k < settled; k++) {
+            if (covered[order[k]]) size[order[k]] = 0;
+        }
+
+        int heaviest = root;
+        for (int k = 0; k < settled; k++) {
+            if (size[order[k]] > size[heaviest]) heaviest = order[k];
+        }
+        if (size[heaviest] == 0) {
+            return farthest(fromRows, count, n);
+        }
+
+        // Children of each tree node, grouped by parent.
+        int[] childOffsets = new int[n + 1];
+        for (int k = 0; k < settled; k++) {
+            if (parent[order[k]] >= 0) childOffsets[parent[order[k]] + 1]++;
+        }
+        for (int v = 0; v < n; v++) childOffsets[v + 1] += childOffsets[v];
+        int[] children = new int[Math.max(1, settled - 1)];
+        int[] next = Arrays.copyOf(childOffsets, n);
+        for (int k = 0; k < settled; k++) {
+            int v = order[k];
+            if (parent[v] >= 0) children[next[parent[v]]++] = v;
+        }
+
+        int v = heaviest;
+        while (true) {
+            int best = -1;
+            for (int c = childOffsets[v]; c < childOffsets[v + 1]; c++) {
+                if (best < 0 || size[children[c]] > size[best]) best = children[c];
+            }
+            if (best < 0) return v;
+            v = best;
+        }
+    }
+
+    /*
+     * Plain Dijkstra from source. Fills dist (UNREACHABLE where not reached), the settle order
+     * and, if given, the shortest path tree parents. Returns the number of nodes settled.
+     */
+    static int dijkstra(Graph graph, int source, int[] dist, MinHeap heap, int[] order, int[] parent) {
+        Arrays.fill(dist, UNREACHABLE);
+        heap.clear();
+        dist[source] = 0;
+        if (parent != null) parent[source] = -1;
+        heap.push(source, 0);
+        int settled = 0;
+        while (!heap.isEmpty()) {
+            int u = heap.pop();
+            order[settled++] = u;
+            int du = dist[u];
+            for (int arc = graph.firstArc(u), end = graph.endArc(u); arc < end; arc++) {
+                int v = graph.target(arc);
+                long d = (long) du + graph.weight(arc);
+                if (d < dist[v]) {
+                    dist[v] = (int) d;
+                    if (parent != null) parent[v] = u;
+                    heap.push(v, d);
+                }
+            }
+        }
+        return settled;
+    }
+
+    public static void main(String[] args) {
+        // usage: Landmarks [side landmarks queries seed] — ALT against Dijkstra on a road-like grid
+        int side = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int queries = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+
+        Graph graph = ContractionHierarchy.roadGrid(side, seed);
+        GraphSearch search = new GraphSearch(graph);
+        Random random = new Random(seed);
+        int[] pairs = new int[2 * queries];
+        for (int i = 0; i < pairs.length; i++) pairs[i] = random.nextInt(graph.nodes());
+
+        int[] expected = new int[queries];
+        long settled = 0;
+        long t0 = System.nanoTime();
+        for (int i = 0; i < queries; i++) {
+            expected[i] = search.distance(pairs[2 * i], pairs[2 * i + 1]);      // heuristic 0: Dijkstra
+            settled += search.expanded();
+        }
+        long ns = System.nanoTime() - t0;
+        System.out.printf("%,d nodes, %,d arcs, %d queries%n", graph.nodes(), graph.arcs(), queries);
+        System.out.printf("  %-16s %,9.3f ms/query  %,8d settled/query%n", "Dijkstra", ns / 1e6 / queries,
+                settled / queries);
+
+        for (Selection selection : Selection.values()) {
+            t0 = System.nanoTime();
+            Landmarks landmarks = select(graph, count, selection, seed);
+            long built = System.nanoTime() - t0;
+            settled = 0;
+            t0 = System.nanoTime();
+            for (int i = 0; i < queries; i++) {
+                if (search.distance(pairs[2 * i], pairs[2 * i + 1], landmarks) != expected[i]) {
+                    throw new IllegalStateException("ALT distance differs from Dijkstra for query " + i);
+                }
+                settled += search.expanded();
+            }
+            ns = System.nanoTime() - t0;
+            System.out.printf("  %-16s %,9.3f ms/query  %,8d settled/query  (%d landmarks in %,d ms)%n",
+                    "ALT " + selection.name().toLowerCase(), ns / 1e6 / queries, settled / queries, count,
+                    built / 1_000_000);
+        }
+    }
+}
+
+
+/*
+
+# Short problem statement
+
+`Graph.addNode(name, heuristic)` takes a hand-entered estimate that only holds for one goal (`B` in the example). Asking for any other destination made A\* either inadmissible, so it returned wrong paths, or uninformed. **ALT** (A\*, Landmarks, Triangle inequality) computes its heuristic from the graph: exact distances to and from a few *landmarks* bound every other distance from below, for any source and target.
+
+---
+
+# How it works
+
+* **Bounds.** For a landmark `L`, the triangle inequality gives `d(v, t) ≥ d(L, t) − d(L, v)` and `d(v, t) ≥ d(v, L) − d(t, L)`. `lowerBound(v, t)` takes the best of these over all landmarks. Each term is a feasible potential, so the maximum is **consistent** and `GraphSearch` can use it without reopening nodes. Landmarks that cannot reach (or be reached from) either node are skipped. Directed graphs are handled because both directions are stored.
+* **Tables.** One Dijkstra per landmark on the graph gives `d(L, ·)`, and one on `graph.reversed()` gives `d(·, L)`. The tables are node-major (`v * count + i`), so one bound reads two short contiguous runs: `8 × count` bytes per node in total (128 bytes for 16 landmarks).
+* **Selection.** The first landmark is the node farthest from a random start. Then:
+  * `FARTHEST` adds the node whose nearest landmark is farthest away. It is cheap and spreads landmarks around the edge of the map.
+  * `AVOID` grows a shortest path tree from a random root and weighs each node by how much the current bounds underestimate its distance from the root. It then walks from the heaviest subtree that has no landmark down to a leaf. This puts landmarks "behind" the regions where the bounds are weakest, and usually gives tighter bounds.
+* **Use.** `GraphSearch.aStar(s, t, landmarks)` and `distance(s, t, landmarks)` take the heuristic from the landmarks instead of the per-node table. `RouteFindingAStar` uses them for any start and goal passed on the command line.
+
+`main` compares Dijkstra with ALT under both selection rules on a road-like grid, and checks that every distance agrees.
+
+*/
@@ -0,0 +1,116 @@
+package Route_Finding;
+
+import java.util.*;
+
+final class MinHeap {
+
+    // Binary heap of node ids by key; position[node] is its heap slot, or -1 if not queued.
+    private int[] heap;
+    private long[] keys;
+    private final int[] position;
+    private int size;
+
+    MinHeap(int nodes) {
+        heap = new int[Math.max(16, Math.min(nodes, 1 << 16))];
+        keys = new long[heap.length];
+        position = new int[nodes];
+        Arrays.fill(position, -1);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean contains(int node) {
+        return position[node] >= 0;
+    }
+
+    // Inserts the node, or lowers its key if it is queued with a larger one.
+    void push(int node, long key) {
+        int slot = position[node];
+        if (slot < 0) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size << 1);
+                keys = Arrays.copyOf(keys, size << 1);
+            }
+            slot = size++;
+        } else if (key >= keys[slot]) {
+            return;
+        }
+        siftUp(slot, node, key);
+    }
+
+    // Sets the key of a queued node either way, or inserts it.
+    void update(int node, long key) {
+        int slot = position[node];
+        if (slot < 0 || key < keys[slot]) {
+            push(node, key);
+        } else {
+            siftDown(slot, node, key);
+        }
+    }
+
+    long minKey() {
+        return keys[0];
+    }
+
+    int pop() {
+        int top = heap[0];
+        position[top] = -1;
+        if (--size > 0) siftDown(0, heap[size], keys[size]);
+        return top;
+    }
+
+    // Empties the queue in O(size), so resetting after a small search stays cheap.
+    void clear() {
+        for (int i = 0; i < size; i++) position[heap[i]] = -1;
+        size = 0;
+    }
+
+    private void siftUp(int slot, int node, long key) {
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            if (keys[parent] <= key) break;
+            place(slot, heap[parent], keys[parent]);
+            slot = parent;
+        }
+        place(slot, node, key);
+    }
+
+    private void siftDown(int slot, int node, long key) {
+        int half = size >>> 1;
+        while (slot < half) {
+            int child = 2 * slot + 1;
+            if (child + 1 < size && keys[child + 1] < keys[child]) child++;
+            if (key <= keys[child]) break;
+            place(slot, heap[child], keys[child]);
+            slot = child;
+        }
+        place(slot, node, key);
+    }
+
+    private void place(int slot, int node, long key) {
+        heap[slot] = node;
+        keys[slot] = key;
+        position[node] = slot;
+    }
+}
+
+
+/*
+
+# Short problem statement
+
+Road graph searches need a priority queue of node ids with arbitrary integer costs. The costs are too spread out for the maze's bucket queue, and `PriorityQueue<State>` allocates an object per push. `MinHeap` is an **indexed binary heap** over `int` node ids, stored in flat arrays.
+
+---
+
+# How it works
+
+* `heap[]` holds node ids in heap order, `keys[]` their priorities, and `position[node]` each node's slot (or `-1`). The position index gives **decrease-key**: pushing a queued node with a smaller key sifts it up in place, so a node is in the heap at most once and the heap never holds more than the number of nodes.
+* `update` also raises keys, for queues whose priorities grow, such as the node order in `ContractionHierarchy`.
+* Keys are `long`, so a caller can pack a tie-breaker into the low bits, for example `f << 32 | h` to prefer nodes closer to the goal among equal `f`.
+* `clear()` touches only the queued nodes. With the searches' generation stamps, a workspace resets in time proportional to the last search, not to the graph.
+* Package-private: it is the workspace of `GraphSearch` and `ContractionHierarchy` and not part of the package API.
+
+*/
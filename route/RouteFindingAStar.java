@@ -2,45 +2,19 @@ package Route_Finding;
 
 import java.util.*;
 
-class Node {
-    String name;
-    int heuristic;
-
-    Node(String name, int heuristic) {
-        this.name = name;
-        this.heuristic = heuristic;
-    }
-}
-
-class Graph {
-    Map<String, Node> nodes = new HashMap<>();
-    Map<String, List<String>> adj = new HashMap<>();
-    Map<String, Integer> cost = new HashMap<>();
-
-    void addNode(String name, int heuristic) {
-        nodes.put(name, new Node(name, heuristic));
-        adj.putIfAbsent(name, new ArrayList<>());
-    }
-
-    void addEdge(String u, String v, int c) {
-        adj.get(u).add(v);
-        adj.get(v).add(u);
-        cost.put(u + "-" + v, c);
-        cost.put(v + "-" + u, c);
-    }
-
-    int getHeuristic(String name) {
-        return nodes.get(name).heuristic;
-    }
-
-    int getCost(String u, String v) {
-        return cost.getOrDefault(u + "-" + v, Integer.MAX_VALUE);
-    }
-}
-
 public class RouteFindingAStar {
     public static void main(String[] args) {
-        Graph g = new Graph();
+        // usage: RouteFindingAStar [start goal] — the table heuristics only hold for goal B
+        Graph g = romania();
+        if (args.length == 2) {
+            aStarSearch(g, args[0], args[1], Landmarks.select(g, 4, Landmarks.Selection.AVOID, 1));
+            return;
+        }
+        aStarSearch(g, "A", "B");
+    }
+
+    static Graph romania() {
+        Graph.Builder g = new Graph.Builder();
 
         g.addNode("A", 366);
         g.addNode("B", 0);
@@ -87,361 +61,68 @@ public class RouteFindingAStar {
         g.addEdge("V","I",92);
         g.addEdge("I","N",87);
 
-        aStarSearch(g, "A", "B");
+        return g.build();
     }
 
     static void aStarSearch(Graph g, String start, String goal) {
-        class State {
-            String node;
-            int g; 
-            int f; 
-
-            State(String node, int g, int f) {
-                this.node = node;
-                this.g = g;
-                this.f = f;
-            }
-        }
-
-        PriorityQueue<State> pq = new PriorityQueue<>(Comparator.comparingInt(s -> s.f));
-        pq.add(new State(start, 0, g.getHeuristic(start)));
-
-        Map<String, Integer> gScore = new HashMap<>();
-        gScore.put(start, 0);
-
-        Map<String, String> parent = new HashMap<>();
-        Set<String> visited = new HashSet<>();
-
-        while (!pq.isEmpty()) {
-            State cur = pq.poll();
-
-            if (visited.contains(cur.node)) continue;
-            visited.add(cur.node);
-
-            System.out.println("Visited: " + cur.node + " (g=" + cur.g + ", h=" + g.getHeuristic(cur.node) + ", f=" + cur.f + ")");
-
-            if (cur.node.equals(goal)) {
-                System.out.println("Goal reached!");
-                List<String> path = new ArrayList<>();
-                String n = goal;
-                while (n != null) {
-                    path.add(n);
-                    n = parent.get(n);
-                }
-                Collections.reverse(path);
-                System.out.println("Path: " + path);
-                System.out.println("Total Cost = " + cur.g);
-                return;
-            }
-
-            for (String nb : g.adj.get(cur.node)) {
-                int tentative_g = cur.g + g.getCost(cur.node, nb);
-                if (tentative_g < gScore.getOrDefault(nb, Integer.MAX_VALUE)) {
-                    gScore.put(nb, tentative_g);
-                    int f = tentative_g + g.getHeuristic(nb);
-                    pq.add(new State(nb, tentative_g, f));
-                    parent.put(nb, cur.node);
-                }
-            }
-        }
+        aStarSearch(g, start, goal, null);
     }
-}
-
-/*
-Here’s a **detailed explanation** of your `RouteFindingAStar` Java program, including problem statement, line-by-line analysis, data structures, complexities, and pseudocode.
-
----
-
-# **Problem Statement**
 
-The **Route-Finding Problem**:
-
-* Find the **shortest path** between a start city (`A`) and a goal city (`B`) in a weighted graph.
-* Each node (city) has a **heuristic** value estimating distance to the goal.
-* This program uses **A* Search Algorithm**:
-
-  * Uses `f(n) = g(n) + h(n)` where:
-
-    * `g(n)` = cost from start to current node
-    * `h(n)` = heuristic estimate to goal
-    * `f(n)` = estimated total cost
-  * Expands nodes with **lowest f-value first**, guaranteeing shortest path if heuristic is **admissible**.
-
----
-
-# **Code Explanation (Line by Line)**
-
-### **Node Class**
-
-```java
-class Node {
-    String name;
-    int heuristic;
-
-    Node(String name, int heuristic) {
-        this.name = name;
-        this.heuristic = heuristic;
-    }
-}
-```
-
-* Represents a city/node.
-* Stores `name` and heuristic estimate `h(n)` to goal.
-
----
-
-### **Graph Class**
-
-```java
-class Graph {
-    Map<String, Node> nodes = new HashMap<>();
-    Map<String, List<String>> adj = new HashMap<>();
-    Map<String, Integer> cost = new HashMap<>();
-```
-
-* `nodes`: maps name → Node object (stores heuristic).
-* `adj`: adjacency list (neighbors for each node).
-* `cost`: maps `"u-v"` → edge weight.
-
-```java
-    void addNode(String name, int heuristic) {
-        nodes.put(name, new Node(name, heuristic));
-        adj.putIfAbsent(name, new ArrayList<>());
-    }
-```
-
-* Adds a node with heuristic.
-* Initializes adjacency list.
-
-```java
-    void addEdge(String u, String v, int c) {
-        adj.get(u).add(v);
-        adj.get(v).add(u);
-        cost.put(u + "-" + v, c);
-        cost.put(v + "-" + u, c);
-    }
-```
-
-* Adds **undirected edge** between `u` and `v` with cost `c`.
-* Stores cost for both directions.
-
-```java
-    int getHeuristic(String name) {
-        return nodes.get(name).heuristic;
-    }
+    // With landmarks, h comes from their lower bounds and is valid for any goal.
+    static void aStarSearch(Graph g, String start, String goal, Landmarks landmarks) {
+        GraphSearch search = new GraphSearch(g);
+        int target = g.id(goal);
+        int[] path = landmarks == null ? search.aStar(g.id(start), target) : search.aStar(g.id(start), target, landmarks);
+
+        for (int i = 0; i < search.expanded(); i++) {
+            int node = search.settled(i);
+            int cost = search.g(node);
+            int h = landmarks == null ? g.heuristic(node) : landmarks.lowerBound(node, target);
+            System.out.println("Visited: " + g.name(node) + " (g=" + cost + ", h=" + h + ", f=" + (cost + h) + ")");
+        }
+        if (path == null) return;
 
-    int getCost(String u, String v) {
-        return cost.getOrDefault(u + "-" + v, Integer.MAX_VALUE);
+        System.out.println("Goal reached!");
+        List<String> names = new ArrayList<>();
+        for (int node : path) names.add(g.name(node));
+        System.out.println("Path: " + names);
+        System.out.println("Total Cost = " + search.g(path[path.length - 1]));
     }
 }
-```
 
-* Helper functions: return heuristic or edge cost.
 
----
-
-### **Main Class: RouteFindingAStar**
-
-```java
-public class RouteFindingAStar {
-    public static void main(String[] args) {
-        Graph g = new Graph();
-```
-
-* Initializes a graph.
-
-```java
-        g.addNode("A", 366);
-        g.addNode("B", 0);
-        ...
-        g.addNode("Z", 374);
-```
-
-* Adds nodes with heuristic values (h(n)).
-* Heuristic = estimated straight-line distance to goal (`B`).
-
-```java
-        g.addEdge("A","Z",75);
-        g.addEdge("A","S",140);
-        ...
-        g.addEdge("I","N",87);
-```
-
-* Adds all undirected edges with weights.
-
-```java
-        aStarSearch(g, "A", "B");
-    }
-```
-
-* Calls **A*** search from `A` to `B`.
-
----
-
-### **A* Search Function**
-
-```java
-    static void aStarSearch(Graph g, String start, String goal) {
-        class State {
-            String node;
-            int g; 
-            int f; 
-            State(String node, int g, int f) { this.node=node; this.g=g; this.f=f; }
-        }
-```
-
-* `State` represents a node in the priority queue:
-
-  * `node` = node name
-  * `g` = cost from start
-  * `f` = total estimated cost (`g + h`)
-
-```java
-        PriorityQueue<State> pq = new PriorityQueue<>(Comparator.comparingInt(s -> s.f));
-        pq.add(new State(start, 0, g.getHeuristic(start)));
-```
-
-* Priority queue orders states by **lowest f-value**.
-* Start node: `g=0`, `f=g+h`.
-
-```java
-        Map<String, Integer> gScore = new HashMap<>();
-        gScore.put(start, 0);
-
-        Map<String, String> parent = new HashMap<>();
-        Set<String> visited = new HashSet<>();
-```
-
-* `gScore` → cost from start to each node.
-* `parent` → for path reconstruction.
-* `visited` → avoid revisiting nodes.
-
----
-
-### **Main Loop**
-
-```java
-        while (!pq.isEmpty()) {
-            State cur = pq.poll();
-            if (visited.contains(cur.node)) continue;
-            visited.add(cur.node);
-```
-
-* Pop node with lowest `f`.
-* Skip if already visited.
-
-```java
-            System.out.println("Visited: " + cur.node + " (g=" + cur.g + ", h=" + g.getHeuristic(cur.node) + ", f=" + cur.f + ")");
-```
-
-* Debug: prints node info.
-
-```java
-            if (cur.node.equals(goal)) {
-                System.out.println("Goal reached!");
-                List<String> path = new ArrayList<>();
-                String n = goal;
-                while (n != null) { path.add(n); n = parent.get(n); }
-                Collections.reverse(path);
-                System.out.println("Path: " + path);
-                System.out.println("Total Cost = " + cur.g);
-                return;
-            }
-```
-
-* If goal reached: reconstruct path using `parent`, print path and total cost.
-
----
-
-### **Explore Neighbors**
-
-```java
-            for (String nb : g.adj.get(cur.node)) {
-                int tentative_g = cur.g + g.getCost(cur.node, nb);
-                if (tentative_g < gScore.getOrDefault(nb, Integer.MAX_VALUE)) {
-                    gScore.put(nb, tentative_g);
-                    int f = tentative_g + g.getHeuristic(nb);
-                    pq.add(new State(nb, tentative_g, f));
-                    parent.put(nb, cur.node);
-                }
-            }
-        }
-```
-
-* For each neighbor:
-
-  1. Compute `tentative_g = g(cur) + cost(cur, nb)`.
-  2. If new g is better → update `gScore`, compute `f = g+h`.
-  3. Add neighbor to priority queue and update parent.
-
----
+/*
 
-# **Data Structures Used**
+# Short problem statement
 
-| Data Structure                  | Purpose                                         |
-| ------------------------------- | ----------------------------------------------- |
-| `PriorityQueue<State>`          | Stores nodes to expand by lowest `f`.           |
-| `HashMap<String, Integer>`      | `gScore` → stores cost from start to each node. |
-| `HashMap<String, String>`       | `parent` → reconstruct path.                    |
-| `HashSet<String>`               | `visited` → avoid revisiting nodes.             |
-| `HashMap<String, List<String>>` | Adjacency list of graph.                        |
-| `HashMap<String, Integer>`      | Edge costs.                                     |
+Find the cheapest road route between two cities on the classic map of Romania: 20 cities and 23 two-way roads with their lengths. Each city also has a straight-line distance to Bucharest (`B`). With no arguments the program goes from Arad (`A`) to `B` with **A\***, which always settles the node with the lowest `f = g + h`. Here `g` is the road distance so far and `h` the straight-line estimate of the rest. Since `h` never overestimates, the first time `B` is settled its path is a shortest one.
 
 ---
 
-# **Time Complexity**
-
-* Worst case: **O(E log V)**
-
-  * `E` = number of edges
-  * `V` = number of vertices
-  * `log V` factor from priority queue operations.
-* A* can be faster if heuristic is **admissible**.
-
-# **Space Complexity**
+# How it works
 
-* **O(V + E)** for graph representation
-* **O(V)** for priority queue, `visited`, `parent`, `gScore`.
+* **Graph.** `romania()` adds the cities with `addNode(name, h)` and the roads with `addEdge`, then builds an immutable CSR `Graph` (see `Graph`). Node ids are `int`s from `0`, and `id(name)` and `name(id)` translate the command line and the output. `RouteFindingBestFirst` reuses the same graph.
+* **Search.** `GraphSearch.aStar` does the work on flat `int` arrays and an indexed `MinHeap`. Ties in `f` go to the node with the smaller `h`. Afterwards, `settled(i)` and `g(node)` replay the settle order for the `Visited:` lines, and the returned node ids become the printed path.
+* **Other goals.** The straight-line table only holds for `B`. `RouteFindingAStar <start> <goal>` therefore ignores it and takes `h` from four `Landmarks`, triangle-inequality bounds that hold for every goal, so any query gets a shortest path.
+* **Cost.** With the heap, a search is `O((V + E) log V)` time and `O(V)` space, all of it allocated once in the `GraphSearch`.
 
 ---
 
-# **Pseudocode (Short)**
+# Example
 
 ```
-function AStar(Graph g, start, goal):
-    pq = priority queue ordered by f = g + h
-    gScore[start] = 0
-    parent[start] = null
-    pq.push(State(start, g=0, f=h(start)))
-
-    while pq not empty:
-        cur = pq.pop()
-        if cur.node == goal:
-            return reconstructPath(parent, goal)
-        if cur.node in visited: continue
-        visited.add(cur.node)
-
-        for neighbor in g.adj[cur.node]:
-            tentative_g = gScore[cur.node] + g.getCost(cur.node, neighbor)
-            if tentative_g < gScore[neighbor]:
-                gScore[neighbor] = tentative_g
-                f = tentative_g + g.getHeuristic(neighbor)
-                pq.push(State(neighbor, tentative_g, f))
-                parent[neighbor] = cur.node
+$ java Route_Finding.RouteFindingAStar
+Visited: A (g=0, h=366, f=366)
+Visited: S (g=140, h=253, f=393)
+Visited: R (g=220, h=193, f=413)
+Visited: F (g=239, h=176, f=415)
+Visited: P (g=317, h=100, f=417)
+Visited: B (g=418, h=0, f=418)
+Goal reached!
+Path: [A, S, R, P, B]
+Total Cost = 418
 ```
 
----
-
-✅ **Summary**
-
-* Solves **shortest path problem** using **A* Search**.
-* Combines **actual cost** (`g`) and **heuristic** (`h`) for informed search.
-* Uses **priority queue** to expand the most promising node.
-* Guarantees optimal solution if heuristic is admissible.
-
----
-
-I can also **draw a step-by-step A* search tree for this graph** showing `f`, `g`, and `h` values to make it visually clear.
+`F` is settled before `P`, but its road to `B` (`239 + 211 = 450`) loses to the one through Pitesti (`317 + 101 = 418`).
 
-Do you want me to do that?
- */
\ No newline at end of file
+*/